@@ -0,0 +1,62 @@
+package br.com.fiap.Ayra.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.service.CompactViews;
+
+/**
+ * Serialização JSON de uma página de alertas com Coordinates e MapMarker aninhados, como em
+ * GET /alert, e da mesma página no formato compacto de GET /alert?view=compact.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AlertPageSerializationBenchmark {
+
+    @Param({ "10", "100" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Alert> page;
+
+    @Setup
+    public void setup() {
+        // Mesma configuração padrão do Spring Boot
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<Alert> alerts = BenchmarkData.alerts(pageSize);
+        page = new PageImpl<>(alerts, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id")), 1000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeCompactPage() throws JsonProcessingException {
+        // Inclui a montagem das tabelas de included, feita a cada requisição
+        return objectMapper.writeValueAsBytes(CompactViews.alerts(page));
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.Ayra.benchmark;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.User;
+
+/** Dados fixos (sem aleatoriedade) para que os resultados sejam comparáveis entre execuções. */
+final class BenchmarkData {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2025-06-01T12:00:00-03:00[America/Sao_Paulo]");
+    private static final String[] INTENSITIES = { "high", "medium", "low" };
+
+    private BenchmarkData() {}
+
+    static User user() {
+        return User.builder()
+                .id(42L)
+                .name("João Silva")
+                .email("joao@example.com")
+                .phone("11999999999")
+                .build();
+    }
+
+    static Coordinates coordinates(long id) {
+        return Coordinates.builder()
+                .id(id)
+                .latitude(-23.5505 + id * 0.001)
+                .longitude(-46.6333 - id * 0.001)
+                .dateCoordinate(LocalDate.of(2025, 6, 1))
+                .build();
+    }
+
+    /** Alertas como os do DatabaseSeeder: marcador e alerta compartilham as mesmas coordenadas. */
+    static List<Alert> alerts(int count) {
+        List<Alert> alerts = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            Coordinates coordinates = coordinates(i);
+            String intensity = INTENSITIES[(int) (i % INTENSITIES.length)];
+            MapMarker marker = MapMarker.builder()
+                    .id(i)
+                    .title("Inundação " + i)
+                    .description("Água acumulada nas ruas após chuvas fortes, ponto " + i + ".")
+                    .intensity(intensity)
+                    .radius(50.0 + i)
+                    .coordinates(coordinates)
+                    .build();
+            alerts.add(Alert.builder()
+                    .id(i)
+                    .title("Inundação Severa " + i)
+                    .description("Inundação severa próxima ao rio Tietê com risco para moradores, ponto " + i + ".")
+                    .intensity(intensity)
+                    .alertDatetime(NOW.minusHours(i))
+                    .location("São Paulo")
+                    .radius(50.0 + i)
+                    .coordinates(coordinates)
+                    .mapMarker(marker)
+                    .build());
+        }
+        return alerts;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.Ayra.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.service.CoordinatesService;
+
+/**
+ * Deduplicação de coordenadas feita em MapMarkerController.create (CoordinatesService.resolve).
+ *
+ * O repositório é substituído por um stub em memória para isolar o custo da lógica.
+ * Os dois caminhos fazem duas idas ao banco: existente (busca + busca) e novo
+ * (busca + save).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoordinatesDedupBenchmark {
+
+    private static final Coordinates EXISTING = BenchmarkData.coordinates(1);
+
+    private CoordinatesService service;
+
+    @Setup
+    public void setup() {
+        CoordinatesRepository repository = (CoordinatesRepository) Proxy.newProxyInstance(
+                CoordinatesRepository.class.getClassLoader(),
+                new Class<?>[] { CoordinatesRepository.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByLatitudeBetweenAndLongitudeBetween": {
+                            double minLat = (Double) args[0];
+                            double maxLat = (Double) args[1];
+                            double minLon = (Double) args[2];
+                            double maxLon = (Double) args[3];
+                            boolean inside = EXISTING.getLatitude() >= minLat && EXISTING.getLatitude() <= maxLat
+                                    && EXISTING.getLongitude() >= minLon && EXISTING.getLongitude() <= maxLon;
+                            return inside ? List.of(EXISTING) : List.of();
+                        }
+                        case "existsById":
+                            return EXISTING.getId().equals(args[0]);
+                        case "save":
+                            return args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        service = new CoordinatesService();
+        ReflectionTestUtils.setField(service, "coordinatesRepository", repository);
+    }
+
+    @Benchmark
+    public Coordinates resolveExisting() {
+        return service.resolve(Coordinates.builder()
+                .latitude(EXISTING.getLatitude() + 0.00005)
+                .longitude(EXISTING.getLongitude())
+                .build());
+    }
+
+    @Benchmark
+    public Coordinates resolveNew() {
+        return service.resolve(Coordinates.builder()
+                .latitude(-22.9068)
+                .longitude(-43.1729)
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fiap.Ayra.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import br.com.fiap.Ayra.model.Alert;
+
+/**
+ * Tamanho e custo de GET /alert em JSON, CBOR e Smile, com e sem gzip. Os tamanhos
+ * em bytes de cada combinação são impressos no início de cada fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    public String format;
+
+    @Param({ "10", "100" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Alert> page;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // Mesma configuração dos conversores do BinaryFormatsConfig
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<Alert> alerts = BenchmarkData.alerts(pageSize);
+        page = new PageImpl<>(alerts, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id")), 1000);
+
+        System.out.printf("%n%s, %d itens: %d bytes, %d bytes com gzip%n", format, pageSize,
+                serialize().length, serializeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, page);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.fiap.Ayra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import br.com.fiap.Ayra.controller.AlertController.AlertFilter;
+import br.com.fiap.Ayra.controller.CoordinatesController.CoordinatesFilter;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.specification.AlertSpecification;
+import br.com.fiap.Ayra.specification.CoordinatesSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Montagem dos predicados das specifications com o CriteriaBuilder real do Hibernate.
+ * O metamodelo é construído sem banco (sem acesso a metadados JDBC).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+
+    private final AlertFilter alertFilter = new AlertFilter("high", -23.5505, -46.6333, null, null, null);
+    private final CoordinatesFilter coordinatesFilter = new CoordinatesFilter(-23.5505, -46.6333, null, null);
+
+    @Setup
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Alert.class)
+                .addAnnotatedClass(MapMarker.class)
+                .addAnnotatedClass(Coordinates.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.OracleDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                // Os entity listeners dependem do Spring e não entram nos predicados
+                .setProperty("hibernate.jpa_callbacks.enabled", "false")
+                .buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate alertWithFilters() {
+        CriteriaQuery<Alert> query = cb.createQuery(Alert.class);
+        Root<Alert> root = query.from(Alert.class);
+        return AlertSpecification.withFilters(alertFilter).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public Predicate coordinatesWithFilters() {
+        CriteriaQuery<Coordinates> query = cb.createQuery(Coordinates.class);
+        Root<Coordinates> root = query.from(Coordinates.class);
+        return CoordinatesSpecification.withFilters(coordinatesFilter).toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.fiap.Ayra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.fiap.Ayra.controller.AuthController.Token;
+import br.com.fiap.Ayra.model.User;
+import br.com.fiap.Ayra.service.TokenService;
+
+/** Emissão e verificação de JWT, executadas no /login e em toda requisição autenticada (AuthFilter). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService();
+        user = BenchmarkData.user();
+        token = tokenService.createToken(user).token();
+    }
+
+    @Benchmark
+    public Token createToken() {
+        return tokenService.createToken(user);
+    }
+
+    @Benchmark
+    public User getUserFromToken() {
+        return tokenService.getUserFromToken(token);
+    }
+}
@@ -2,18 +2,24 @@ package br.com.fiap.Ayra;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "AYRA", version = "v1", description = "API do sistema de prevenção de eventos extremos da natureza"))
 public class AyraApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(AyraApplication.class, args);
+		SpringApplication application = new SpringApplication(AyraApplication.class);
+		// Guarda as etapas da inicialização para o StartupTimingReporter e o /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(10_000));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,23 @@
+package br.com.fiap.Ayra.archive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Arquivamento de alertas e coordenadas antigos ({@code ayra.archive.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "ayra.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    // Alertas expirados e coordenadas sem referência mais antigos que isso saem das tabelas quentes
+    private Duration horizon = Duration.ofDays(90);
+
+    // Linhas movidas por transação
+    private int batchSize = 500;
+}
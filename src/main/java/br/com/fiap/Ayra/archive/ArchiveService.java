@@ -0,0 +1,304 @@
+package br.com.fiap.Ayra.archive;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.fiap.Ayra.controller.AlertController.AlertFilter;
+import br.com.fiap.Ayra.controller.CoordinatesController.CoordinatesFilter;
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ArchivedAlert;
+import br.com.fiap.Ayra.model.ArchivedCoordinates;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.repository.ArchivedAlertRepository;
+import br.com.fiap.Ayra.repository.ArchivedCoordinatesRepository;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.routing.EvacuationRouter;
+import br.com.fiap.Ayra.service.ChangeLogRecorder;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import br.com.fiap.Ayra.specification.AlertSpecification;
+import br.com.fiap.Ayra.specification.CoordinatesSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Particionamento por tempo de {@code alert} e {@code coordinates}.
+ *
+ * Um job em segundo plano move, em lotes de {@code batch-size} por transação, as
+ * linhas mais antigas que {@code horizon} para {@code alert_archive},
+ * {@code safe_item_archive} e {@code coordinates_archive}:
+ * <ul>
+ *   <li>alertas expirados, junto com suas rotas, locais e dicas; o change_log
+ *       recebe um DELETE de cada um para que o /sync os remova dos clientes;</li>
+ *   <li>coordenadas que nenhum alerta, marcador ou usuário referencia.</li>
+ * </ul>
+ *
+ * Todas as instâncias rodam o job; cada lote trava a linha de {@code archive_lock},
+ * então os lotes se alternam e nenhuma linha é movida duas vezes.
+ *
+ * As consultas só leem o arquivo quando o intervalo pedido ({@code from}) começa
+ * antes da linha arquivada mais recente, relida do banco a cada
+ * {@code ayra.versions.refresh-ms}; sem intervalo, só a tabela quente é lida.
+ */
+@Service
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveService {
+
+    private record ChildTable(String kind, String table, String idColumn, String contentColumn, ResourceCollection collection) {}
+
+    private static final List<ChildTable> CHILDREN = List.of(
+            new ChildTable("route", "safe_routes", "id_routes", "routes", ResourceCollection.SAFE_ROUTES),
+            new ChildTable("location", "safe_location", "id_location", "location", ResourceCollection.SAFE_LOCATION),
+            new ChildTable("tip", "safe_tip", "id_tip", "tip", ResourceCollection.SAFE_TIP));
+
+    private static final String ARCHIVE_ALERTS_SQL =
+            "insert into alert_archive (id_alert, title, description, intensity, alert_datetime, expires_at, location, radius, "
+            + "coordinates_id, latitude, longitude, date_coordinate, id_map, archived_at) "
+            + "select a.id_alert, a.title, a.description, a.intensity, a.alert_datetime, a.expires_at, a.location, a.radius, "
+            + "c.id_cor, c.latitude, c.longitude, c.date_coordinate, a.id_map, :now "
+            + "from alert a join coordinates c on c.id_cor = a.coordinates_id where a.id_alert in (:ids)";
+
+    private static final String ARCHIVE_COORDINATES_SQL =
+            "insert into coordinates_archive (id_cor, latitude, longitude, date_coordinate, archived_at) "
+            + "select id_cor, latitude, longitude, date_coordinate, :now from coordinates where id_cor in (:ids)";
+
+    private static final int LOCK_ID = 1;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private CoordinatesRepository coordinatesRepository;
+
+    @Autowired
+    private ArchivedAlertRepository archivedAlertRepository;
+
+    @Autowired
+    private ArchivedCoordinatesRepository archivedCoordinatesRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChangeLogRecorder changeLog;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ArchiveProperties properties;
+
+    @Autowired
+    private EvacuationRouter evacuationRouter;
+
+    // Linha arquivada mais recente de cada tabela, relida do banco; nulo enquanto o arquivo estiver vazio
+    private volatile ZonedDateTime newestAlert;
+    private volatile LocalDate newestCoordinate;
+
+    // O job só roda depois da inicialização: o seeder e o gerador ainda estão inserindo
+    private volatile boolean ready;
+
+    @PostConstruct
+    void loadWatermarks() {
+        newestAlert = archivedAlertRepository.findNewestAlertDatetime();
+        newestCoordinate = archivedCoordinatesRepository.findNewestDateCoordinate();
+    }
+
+    // O job de qualquer instância pode mudar as datas; a cópia local vale por ayra.versions.refresh-ms
+    @Scheduled(fixedDelayString = "${ayra.versions.refresh-ms:1000}")
+    void refreshWatermarks() {
+        try {
+            loadWatermarks();
+        } catch (Exception e) {
+            // Até a próxima leitura as consultas usam as datas anteriores
+            log.warn("Falha ao reler as datas do arquivo: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        ready = true;
+    }
+
+    /** Se a listagem de alertas pedida alcança alertas arquivados (todos expirados). */
+    public boolean covers(AlertFilter filter) {
+        return filter.status() != null && !AlertLifecycle.ACTIVE.equals(filter.status())
+                && filter.from() != null && newestAlert != null && !filter.from().isAfter(newestAlert);
+    }
+
+    public boolean covers(CoordinatesFilter filter) {
+        return filter.from() != null && newestCoordinate != null && !filter.from().isAfter(newestCoordinate);
+    }
+
+    /**
+     * Página de alertas das duas partições, intercaladas por {@code alertDatetime}.
+     *
+     * @throws ResponseStatusException 400 se a ordenação pedida não for por data ou id
+     */
+    public Page<Alert> alerts(AlertFilter filter, Pageable pageable) {
+        Direction direction = byDate(pageable.getSort(), "alertDatetime");
+        Comparator<Alert> order = Comparator.comparing(Alert::getAlertDatetime).thenComparing(Alert::getId);
+        Sort sort = Sort.by(direction, "alertDatetime", "id");
+        return PartitionedPage.merge(entityManager, pageable, direction.isDescending() ? order.reversed() : order,
+                Alert.class, alertRepository, AlertSpecification.withFilters(filter), sort,
+                ArchivedAlert.class, archivedAlertRepository, AlertSpecification.archived(filter), sort, ArchivedAlert::toAlert);
+    }
+
+    public Page<Coordinates> coordinates(CoordinatesFilter filter, Pageable pageable) {
+        Direction direction = byDate(pageable.getSort(), "dateCoordinate");
+        Comparator<Coordinates> order = Comparator.comparing(Coordinates::getDateCoordinate).thenComparing(Coordinates::getId);
+        Sort sort = Sort.by(direction, "dateCoordinate", "id");
+        return PartitionedPage.merge(entityManager, pageable, direction.isDescending() ? order.reversed() : order,
+                Coordinates.class, coordinatesRepository, CoordinatesSpecification.withFilters(filter), sort,
+                ArchivedCoordinates.class, archivedCoordinatesRepository, CoordinatesSpecification.archived(filter), sort,
+                ArchivedCoordinates::toCoordinates);
+    }
+
+    // As partições só se intercalam pela data; o id desempata e, sozinho (o padrão de /alert), dá a direção
+    private static Direction byDate(Sort sort, String dateProperty) {
+        for (Sort.Order order : sort) {
+            if (!dateProperty.equals(order.getProperty()) && !"id".equals(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Intervalos que alcançam o arquivo só podem ser ordenados por " + dateProperty + " ou id");
+            }
+        }
+        Sort.Order date = sort.getOrderFor(dateProperty);
+        Sort.Order id = sort.getOrderFor("id");
+        return date != null ? date.getDirection() : id != null ? id.getDirection() : Direction.DESC;
+    }
+
+    @Scheduled(initialDelayString = "${ayra.archive.interval-ms:600000}", fixedDelayString = "${ayra.archive.interval-ms:600000}")
+    public void archive() {
+        if (!properties.isEnabled() || !ready) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        OffsetDateTime now = OffsetDateTime.now();
+        try {
+            int alerts = moveInBatches(ids -> archiveAlerts(ids, now),
+                    size -> alertRepository.findArchivableIds(ZonedDateTime.now().minus(properties.getHorizon()), size));
+            if (alerts > 0) {
+                newestAlert = archivedAlertRepository.findNewestAlertDatetime();
+                versions.bump(ResourceCollection.ALERT);
+                CHILDREN.forEach(child -> versions.bump(child.collection()));
+                // Os locais seguros saem por JDBC, sem eventos de entidade
+                evacuationRouter.reloadShelters();
+            }
+
+            int coordinates = moveInBatches(ids -> archiveCoordinates(ids, now),
+                    size -> coordinatesRepository.findArchivableIds(LocalDate.now().minusDays(properties.getHorizon().toDays()), size));
+            if (coordinates > 0) {
+                newestCoordinate = archivedCoordinatesRepository.findNewestDateCoordinate();
+                versions.bump(ResourceCollection.COORDINATES);
+            }
+
+            meterRegistry.counter("ayra.archive.rows", "table", "alert").increment(alerts);
+            meterRegistry.counter("ayra.archive.rows", "table", "coordinates").increment(coordinates);
+            if (alerts > 0 || coordinates > 0) {
+                log.info("Arquivamento: {} alertas e {} coordenadas movidos em {} ms", alerts, coordinates,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+        } catch (Exception e) {
+            // Ex.: uma linha ganhou referência entre a seleção e o delete; o lote volta na próxima execução
+            log.warn("Arquivamento interrompido: {}", e.getMessage());
+        }
+    }
+
+    private int moveInBatches(Consumer<List<Long>> move, Function<Pageable, List<Long>> candidates) {
+        int total = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                lock();
+                List<Long> batch = candidates.apply(PageRequest.ofSize(properties.getBatchSize()));
+                if (!batch.isEmpty()) {
+                    move.accept(batch);
+                }
+                return batch;
+            });
+            total += ids.size();
+            if (ids.size() < properties.getBatchSize()) {
+                return total;
+            }
+        }
+    }
+
+    // Serializa os lotes entre instâncias: quem espera a trava só escolhe candidatos depois do commit do outro lote
+    private void lock() {
+        if (jdbcTemplate.getJdbcTemplate().queryForList("select id from archive_lock where id = ? for update", Integer.class, LOCK_ID).isEmpty()) {
+            try {
+                jdbcTemplate.getJdbcTemplate().update("insert into archive_lock (id) values (?)", LOCK_ID);
+            } catch (DuplicateKeyException e) {
+                log.debug("Trava do arquivamento criada por outra instância");
+            }
+            jdbcTemplate.getJdbcTemplate().queryForList("select id from archive_lock where id = ? for update", Integer.class, LOCK_ID);
+        }
+    }
+
+    private void archiveAlerts(List<Long> ids, OffsetDateTime now) {
+        Map<String, Object> params = Map.of("ids", ids, "now", now);
+        for (ChildTable child : CHILDREN) {
+            List<Long> childIds = jdbcTemplate.queryForList("select " + child.idColumn() + " from " + child.table()
+                    + " where alert_id_alert in (:ids)", params, Long.class);
+            if (childIds.isEmpty()) {
+                continue;
+            }
+            jdbcTemplate.update("insert into safe_item_archive (kind, item_id, content, alert_id_alert, archived_at) select '"
+                    + child.kind() + "', " + child.idColumn() + ", " + child.contentColumn() + ", alert_id_alert, :now from "
+                    + child.table() + " where alert_id_alert in (:ids)", params);
+            jdbcTemplate.update("delete from " + child.table() + " where alert_id_alert in (:ids)", params);
+            changeLog.recordAll(child.collection(), childIds, Operation.DELETE);
+        }
+
+        jdbcTemplate.update(ARCHIVE_ALERTS_SQL, params);
+        jdbcTemplate.update("delete from alert where id_alert in (:ids)", params);
+        changeLog.recordAll(ResourceCollection.ALERT, ids, Operation.DELETE);
+    }
+
+    private void archiveCoordinates(List<Long> ids, OffsetDateTime now) {
+        Map<String, Object> params = Map.of("ids", ids, "now", now);
+        jdbcTemplate.update(ARCHIVE_COORDINATES_SQL, params);
+        jdbcTemplate.update("delete from coordinates where id_cor in (:ids)", params);
+    }
+}
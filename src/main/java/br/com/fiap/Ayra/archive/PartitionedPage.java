@@ -0,0 +1,74 @@
+package br.com.fiap.Ayra.archive;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Pagina duas partições como uma lista só, intercalando-as na ordem pedida.
+ *
+ * A tabela quente também guarda linhas mais antigas que o arquivo (alertas ainda em
+ * vigor, coordenadas referenciadas), então concatenar as partições não dá a ordem de
+ * uma consulta única. Cada partição devolve as {@code offset + size} primeiras linhas
+ * na mesma ordem e as duas listas são intercaladas pelo {@code order}; o custo cresce
+ * com o deslocamento, como o de um {@code OFFSET} no banco.
+ */
+public final class PartitionedPage {
+
+    private PartitionedPage() {}
+
+    public static <T, A> Page<T> merge(EntityManager entityManager, Pageable pageable, Comparator<T> order,
+                                       Class<T> hotType, JpaSpecificationExecutor<T> hot, Specification<T> hotSpec, Sort hotSort,
+                                       Class<A> archiveType, JpaSpecificationExecutor<A> archive, Specification<A> archiveSpec,
+                                       Sort archiveSort, Function<A, T> mapper) {
+        int window = pageable.isUnpaged() ? Integer.MAX_VALUE
+                : (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+
+        List<T> hotRows = slice(entityManager, hotType, hotSpec, hotSort, window);
+        List<T> archiveRows = slice(entityManager, archiveType, archiveSpec, archiveSort, window).stream().map(mapper).toList();
+
+        List<T> merged = new ArrayList<>(Math.min(window, hotRows.size() + archiveRows.size()));
+        int h = 0;
+        int a = 0;
+        while (merged.size() < window && (h < hotRows.size() || a < archiveRows.size())) {
+            if (a == archiveRows.size() || (h < hotRows.size() && order.compare(hotRows.get(h), archiveRows.get(a)) <= 0)) {
+                merged.add(hotRows.get(h++));
+            } else {
+                merged.add(archiveRows.get(a++));
+            }
+        }
+
+        int from = pageable.isUnpaged() ? 0 : (int) Math.min(merged.size(), pageable.getOffset());
+        return new PageImpl<>(merged.subList(from, merged.size()), pageable, hot.count(hotSpec) + archive.count(archiveSpec));
+    }
+
+    // As primeiras linhas da partição, sem a contagem que um PageRequest traria junto
+    private static <E> List<E> slice(EntityManager entityManager, Class<E> type, Specification<E> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(type);
+        Root<E> root = query.from(type);
+        query.select(root).where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<E> typed = entityManager.createQuery(query);
+        if (limit != Integer.MAX_VALUE) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.Ayra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Conta de coleta do Actuator ({@code ayra.actuator.*}). Só ela tem o papel
+ * {@code ACTUATOR}, exigido por todos os endpoints menos {@code /actuator/health};
+ * os usuários cadastrados por {@code POST /users} nunca recebem esse papel.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "ayra.actuator")
+public class ActuatorProperties {
+
+    public static final String ROLE = "ACTUATOR";
+
+    // Usuário do HTTP Basic usado pelo Prometheus
+    @NotBlank
+    private String username = "prometheus";
+
+    // Senha em texto (ex.: AYRA_ACTUATOR_PASSWORD); vazia desliga a conta
+    private String password = "";
+}
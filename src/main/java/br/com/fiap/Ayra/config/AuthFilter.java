@@ -8,7 +8,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import br.com.fiap.Ayra.model.User;
 import br.com.fiap.Ayra.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +22,9 @@ public class AuthFilter extends OncePerRequestFilter{
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -30,6 +36,12 @@ public class AuthFilter extends OncePerRequestFilter{
                     return;
                 }
 
+                //HTTP Basic (ex.: coleta do Prometheus) fica com o httpBasic do Spring
+                if(header.startsWith("Basic ")){
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
                 //tipo Bearer
                 if(!header.startsWith("Bearer ")){
                     response.setStatus(401);
@@ -38,8 +50,7 @@ public class AuthFilter extends OncePerRequestFilter{
 
                 //validar o token
                 var token = header.replace("Bearer ", "");
-                var user = tokenService.getUserFromToken(token);
-                System.out.println(user);
+                var user = verify(token);
 
                 //autenticar usuario
                 var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
@@ -50,5 +61,22 @@ public class AuthFilter extends OncePerRequestFilter{
 
         
     }
-    
-}
\ No newline at end of file
+
+    // Mede a verificação do JWT, executada em toda requisição autenticada
+    private User verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            User user = tokenService.getUserFromToken(token);
+            outcome = "valid";
+            return user;
+        } finally {
+            sample.stop(Timer.builder("ayra.auth.token.verify")
+                    .description("Tempo de verificação do token JWT no AuthFilter")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+}
@@ -12,7 +12,8 @@ public class CorsConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "DELETE", "PUT")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders("ETag", "X-SQL-Count", "X-SQL-Time-Ms", "X-Cache");
     }
 
 }
\ No newline at end of file
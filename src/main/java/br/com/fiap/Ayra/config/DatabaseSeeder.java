@@ -2,17 +2,38 @@ package br.com.fiap.Ayra.config;
 
 import br.com.fiap.Ayra.model.*;
 import br.com.fiap.Ayra.repository.*;
-import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
-
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Popula o banco com dados de exemplo.
+ *
+ * Roda depois que a aplicação está pronta, por padrão em segundo plano
+ * ({@code ayra.seed.async}), para não atrasar a subida. Uma única consulta verifica
+ * se o usuário de exemplo já existe; caso contrário tudo é gravado em uma só
+ * transação, então duas instâncias subindo juntas não duplicam os dados: a segunda
+ * esbarra no e-mail único e desfaz a sua parte.
+ */
 @Configuration
 public class DatabaseSeeder {
 
+    private static final String SEED_USER_EMAIL = "joao@example.com";
+
+    private final Logger log = LoggerFactory.getLogger(DatabaseSeeder.class);
+
     @Autowired
     private CoordinatesRepository coordinatesRepository;
 
@@ -37,8 +58,47 @@ public class DatabaseSeeder {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    @PostConstruct
-    public void init() {
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ayra.seed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ayra.seed.async:true}")
+    private boolean async;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        if (!async) {
+            seed();
+            return;
+        }
+
+        Thread seeder = new Thread(this::seed, "database-seeder");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+
+    void seed() {
+        long started = System.nanoTime();
+        try {
+            if (userRepository.existsByEmail(SEED_USER_EMAIL)) {
+                log.info("Dados de exemplo já presentes; seed ignorado");
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> init());
+            log.info("Database seeded with sample data! ({} ms)", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Dados de exemplo gravados por outra instância; seed ignorado");
+        } catch (Exception e) {
+            log.error("Falha ao popular o banco com dados de exemplo", e);
+        }
+    }
+
+    private void init() {
         // 1. Coordenadas (Locais reais no estado de São Paulo)
         Coordinates saoPauloCenter = Coordinates.builder()
                 .latitude(-23.5505) // Centro de São Paulo
@@ -70,13 +130,7 @@ public class DatabaseSeeder {
                 .dateCoordinate(LocalDate.now().minusDays(4))
                 .build();
         
-        if(coordinatesRepository.count()==0){
-            coordinatesRepository.save(saoPauloCenter);
-            coordinatesRepository.save(santana);
-            coordinatesRepository.save(moema);
-            coordinatesRepository.save(barueri);
-            coordinatesRepository.save(guarulhos);
-        }
+        coordinatesRepository.saveAll(List.of(saoPauloCenter, santana, moema, barueri, guarulhos));
 
         // 2. MapMarker (Marcadores relacionados aos locais acima)
         MapMarker marker1 = MapMarker.builder()
@@ -119,13 +173,7 @@ public class DatabaseSeeder {
                 .coordinates(guarulhos)
                 .build();
 
-        if(mapMarkerRepository.count()==0){
-            mapMarkerRepository.save(marker1);
-            mapMarkerRepository.save(marker2);
-            mapMarkerRepository.save(marker3);
-            mapMarkerRepository.save(marker4);
-            mapMarkerRepository.save(marker5);
-        }
+        mapMarkerRepository.saveAll(List.of(marker1, marker2, marker3, marker4, marker5));
 
         // 3. Alertas (Relacionados aos marcadores acima)
         Alert alert1 = Alert.builder()
@@ -183,13 +231,7 @@ public class DatabaseSeeder {
                 .mapMarker(marker5)
                 .build();
         
-        if(alertRepository.count()==0){
-            alertRepository.save(alert1);
-            alertRepository.save(alert2);
-            alertRepository.save(alert3);
-            alertRepository.save(alert4);
-            alertRepository.save(alert5);
-        }
+        alertRepository.saveAll(List.of(alert1, alert2, alert3, alert4, alert5));
 
         // 4. SafeRoutes (Rotas seguras nos locais acima)
         SafeRoutes safeRoute1 = SafeRoutes.builder()
@@ -217,47 +259,45 @@ public class DatabaseSeeder {
                 .alert(alert5)
                 .build();
         
-        if(safeRoutesRepository.count()==0){
-            safeRoutesRepository.save(safeRoute1);
-            safeRoutesRepository.save(safeRoute2);
-            safeRoutesRepository.save(safeRoute3);
-            safeRoutesRepository.save(safeRoute4);
-            safeRoutesRepository.save(safeRoute5);
-        }
+        safeRoutesRepository.saveAll(List.of(safeRoute1, safeRoute2, safeRoute3, safeRoute4, safeRoute5));
 
         // 5. SafeLocation (Locais seguros nos locais acima)
         SafeLocation safeLocation1 = SafeLocation.builder()
                 .location("Praça da Sé")
+                .latitude(-23.5503)
+                .longitude(-46.6342)
                 .alert(alert1)
                 .build();
 
         SafeLocation safeLocation2 = SafeLocation.builder()
                 .location("Parque da Juventude")
+                .latitude(-23.5067)
+                .longitude(-46.6166)
                 .alert(alert2)
                 .build();
 
         SafeLocation safeLocation3 = SafeLocation.builder()
                 .location("Parque Ibirapuera")
+                .latitude(-23.5874)
+                .longitude(-46.6576)
                 .alert(alert3)
                 .build();
 
         SafeLocation safeLocation4 = SafeLocation.builder()
                 .location("Alphaville Tênis Clube")
+                .latitude(-23.4962)
+                .longitude(-46.8497)
                 .alert(alert4)
                 .build();
 
         SafeLocation safeLocation5 = SafeLocation.builder()
                 .location("Prefeitura de Guarulhos")
+                .latitude(-23.4625)
+                .longitude(-46.5336)
                 .alert(alert5)
                 .build();
 
-        if(safeLocationRepository.count()==0){
-            safeLocationRepository.save(safeLocation1);
-            safeLocationRepository.save(safeLocation2);
-            safeLocationRepository.save(safeLocation3);
-            safeLocationRepository.save(safeLocation4);
-            safeLocationRepository.save(safeLocation5);
-        }
+        safeLocationRepository.saveAll(List.of(safeLocation1, safeLocation2, safeLocation3, safeLocation4, safeLocation5));
 
         // 6. SafeTips (Dicas de segurança nos locais acima)
         SafeTip safeTip1 = SafeTip.builder()
@@ -285,18 +325,12 @@ public class DatabaseSeeder {
                 .alert(alert5)
                 .build();
         
-        if(safeTipsRepository.count()==0){
-            safeTipsRepository.save(safeTip1);
-            safeTipsRepository.save(safeTip2);
-            safeTipsRepository.save(safeTip3);
-            safeTipsRepository.save(safeTip4);
-            safeTipsRepository.save(safeTip5);
-        }
+        safeTipsRepository.saveAll(List.of(safeTip1, safeTip2, safeTip3, safeTip4, safeTip5));
 
         // 7. User com senha criptografada
         User user1 = User.builder()
                 .name("João Silva")
-                .email("joao@example.com")
+                .email(SEED_USER_EMAIL)
                 .password(passwordEncoder.encode("senha123"))
                 .phone("11999999999")
                 .coordinates(saoPauloCenter)
@@ -310,11 +344,6 @@ public class DatabaseSeeder {
                 .coordinates(santana)
                 .build();
         
-        if(userRepository.count()==0){
-            userRepository.save(user1);
-            userRepository.save(user2);
-        }
-
-        System.out.println("Database seeded with sample data!");
+        userRepository.saveAll(List.of(user1, user2));
     }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package br.com.fiap.Ayra.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.fiap.Ayra.monitoring.SqlStatsResponseAdvice;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cache dos corpos já serializados de GET /alert e GET /map-marker.
+ *
+ * Durante um evento, a maior parte do tráfego é a mesma primeira página com os mesmos
+ * filtros. A chave é a rota, os parâmetros em ordem alfabética, o {@code Accept} e a
+ * versão da coleção em {@link CollectionVersions}. Toda escrita confirmada que passa
+ * pelos repositórios de Alert e MapMarker (e das coleções que eles embutem) incrementa
+ * a versão, então as entradas antigas deixam de ser usadas na hora e saem do cache
+ * por tamanho ou por {@code ttl}.
+ *
+ * Num acerto, os bytes (em gzip, se o cliente aceitar) vão direto para a resposta,
+ * sem consulta, sem controller e sem Jackson, com o {@code ETag} e o
+ * {@code Last-Modified} da resposta original.
+ *
+ * Requisições com {@link #BYPASS_HEADER} igual a {@link #bypassToken()} passam direto
+ * pelo filtro: é o que o {@link WarmupRunner} usa para exercitar as consultas e a
+ * serialização em todas as rodadas. O valor é sorteado a cada inicialização, então
+ * um cliente externo não consegue forçar consultas ao banco com ele.
+ *
+ * O {@code ConcurrencyLimitFilter} roda antes e usa {@link #hit(HttpServletRequest)} para
+ * saber se a requisição é um acerto. O resultado da busca fica na requisição, e este
+ * filtro responde com a mesma entrada, sem procurar de novo.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_HEADER = "X-Cache";
+    public static final String BYPASS_HEADER = "X-Cache-Bypass";
+
+    // Optional da busca já feita por hit(): vazio é uma falta
+    private static final String LOOKUP_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".lookup";
+
+    private static final Map<String, ResourceCollection> ROUTES = Map.of(
+            "/alert", ResourceCollection.ALERT,
+            "/map-marker", ResourceCollection.MAP_MARKER);
+
+    private record Entry(String contentType, String etag, long lastModified, byte[] body, byte[] gzip) {
+        int weight() {
+            return body.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // O CORS é configurado no Spring MVC (CorsConfig), que um acerto não alcança
+    @Autowired
+    private HandlerMappingIntrospector introspector;
+
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+    private final String bypassToken = UUID.randomUUID().toString();
+
+    @Value("${ayra.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ayra.response-cache.max-size:32MB}")
+    private DataSize maxSize;
+
+    // Corpos maiores que isso (ex: size=1000) não são guardados
+    @Value("${ayra.response-cache.max-entry-size:512KB}")
+    private DataSize maxEntrySize;
+
+    @Value("${ayra.response-cache.ttl:5m}")
+    private Duration ttl;
+
+    // Mesmo limite de server.compression.min-response-size
+    @Value("${ayra.response-cache.gzip-min-size:1KB}")
+    private DataSize gzipMinSize;
+
+    private Cache<String, Entry> cache;
+
+    @PostConstruct
+    void start() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<String, Entry>weigher((key, entry) -> key.length() + entry.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses");
+    }
+
+    /** A requisição pode ser respondida por este cache (GET de uma rota guardada, cache ligado). */
+    public boolean caches(HttpServletRequest request) {
+        return enabled && "GET".equals(request.getMethod()) && ROUTES.containsKey(request.getRequestURI());
+    }
+
+    /**
+     * A resposta está guardada e será servida por este filtro (inclusive como 304). Só o
+     * que está no cache conta: {@code If-None-Match} ou {@code If-Modified-Since} sozinhos
+     * não dizem nada sobre o custo da requisição.
+     */
+    public boolean hit(HttpServletRequest request) {
+        if (shouldNotFilter(request)) {
+            return false;
+        }
+        Optional<Entry> entry = Optional.ofNullable(cache.getIfPresent(key(request)));
+        request.setAttribute(LOOKUP_ATTRIBUTE, entry);
+        return entry.isPresent();
+    }
+
+    /** Valor de {@link #BYPASS_HEADER} aceito nesta instância. */
+    public String bypassToken() {
+        return bypassToken;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !caches(request) || bypassToken.equals(request.getHeader(BYPASS_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // A versão é lida antes da consulta: o corpo guardado nunca é mais velho que a chave
+        String key = key(request);
+        Entry entry = request.getAttribute(LOOKUP_ATTRIBUTE) instanceof Optional<?> lookup
+                ? (Entry) lookup.orElse(null)
+                : cache.getIfPresent(key);
+        if (entry != null) {
+            write(entry, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        filterChain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && body.length > 0 && body.length <= maxEntrySize.toBytes()
+                && wrapper.getContentType() != null && wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+            byte[] gzip = body.length >= gzipMinSize.toBytes() ? gzip(body) : null;
+            cache.put(key, new Entry(wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                    lastModified(wrapper.getHeader(HttpHeaders.LAST_MODIFIED)), body, gzip));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private String key(HttpServletRequest request) {
+        return key(request, versions.version(ROUTES.get(request.getRequestURI())));
+    }
+
+    private static String key(HttpServletRequest request, long version) {
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?');
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        });
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return key.append('|').append(accept != null ? accept : "").append('|').append(version).toString();
+    }
+
+    private void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CorsConfiguration cors = introspector.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            return;
+        }
+        response.setHeader(CACHE_HEADER, "HIT");
+        // Nenhum SQL foi executado para responder
+        response.setHeader(SqlStatsResponseAdvice.COUNT_HEADER, "0");
+        response.setHeader(SqlStatsResponseAdvice.TIME_HEADER, "0.0");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // Também escreve o ETag e o Last-Modified guardados na resposta 200
+        if ((entry.etag() != null || entry.lastModified() >= 0)
+                && new ServletWebRequest(request, response).checkNotModified(entry.etag(), entry.lastModified())) {
+            return;
+        }
+
+        byte[] body = entry.body();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (entry.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.gzip();
+        }
+        response.setContentType(entry.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static long lastModified(String header) {
+        if (header == null) {
+            return -1;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LAST_MODIFIED, header);
+        return headers.getLastModified();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class SecurityConfig {
 
@@ -28,6 +30,7 @@ public class SecurityConfig {
                     // Rotas públicas
                     .requestMatchers(HttpMethod.GET, "/coordinates").permitAll()
                     .requestMatchers(HttpMethod.GET, "/coordinates/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/map-marker.geojson", "/alert.geojson").permitAll()
                     .requestMatchers( "/map-marker").permitAll()
                     .requestMatchers( "/map-marker/**").permitAll()
                     .requestMatchers( "/alert").permitAll()
@@ -38,7 +41,14 @@ public class SecurityConfig {
                     .requestMatchers( "/safe-routes/**").permitAll()
                     .requestMatchers( "/safe-location/**").permitAll()
                     .requestMatchers( "/safe-tip/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/sync").permitAll()
                     .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                    .requestMatchers("/ws", "/ws/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                    // Métricas e sqlstats: só a conta de coleta (ayra.actuator.*), nunca um usuário cadastrado
+                    .requestMatchers("/actuator/**").hasRole(ActuatorProperties.ROLE)
+                    // Página de erro do Spring Boot: sem isso, um 400 de rota pública vira 401
+                    .requestMatchers("/error").permitAll()
                     .anyRequest().authenticated()
                 )
                 .csrf(csrf -> csrf.disable())
@@ -47,8 +57,8 @@ public class SecurityConfig {
                 .build();
     }
     @Bean
-    PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(MeterRegistry meterRegistry){
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
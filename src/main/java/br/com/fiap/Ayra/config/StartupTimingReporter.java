@@ -0,0 +1,77 @@
+package br.com.fiap.Ayra.config;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra no log quanto tempo cada fase da inicialização levou e os beans mais
+ * lentos de criar. Só tem efeito quando a aplicação sobe com
+ * {@link BufferingApplicationStartup} (ver {@code AyraApplication}); a linha do tempo
+ * completa fica em {@code /actuator/startup}.
+ */
+@Component
+public class StartupTimingReporter {
+
+    // Etapas de nível mais alto do Spring Boot, na ordem em que acontecem
+    private static final List<String> PHASES = List.of(
+            "spring.boot.application.environment-prepared",
+            "spring.boot.application.context-prepared",
+            "spring.data.repository.scanning",
+            "spring.context.refresh");
+
+    private static final int SLOWEST_BEANS = 5;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void report(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+
+        List<TimelineEvent> timeline = buffering.getBufferedTimeline().getEvents();
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        for (String phase : PHASES) {
+            Duration total = timeline.stream()
+                    .filter(e -> e.getStartupStep().getName().equals(phase))
+                    .map(TimelineEvent::getDuration)
+                    .reduce(Duration.ZERO, Duration::plus);
+            phases.put(phase, total);
+        }
+        phases.forEach((phase, duration) -> log.info("Inicialização - {}: {} ms", phase, duration.toMillis()));
+
+        timeline.stream()
+                .filter(e -> e.getStartupStep().getName().equals("spring.beans.instantiate"))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .forEach(e -> log.info("Inicialização - bean {}: {} ms", beanName(e), e.getDuration().toMillis()));
+
+        log.info("Aplicação pronta em {} ms", event.getTimeTaken().toMillis());
+    }
+
+    // O tempo de um bean inclui o das suas dependências criadas durante ele
+    private static String beanName(TimelineEvent event) {
+        return StreamSupport.stream(event.getStartupStep().getTags().spliterator(), false)
+                .filter(tag -> tag.getKey().equals("beanName"))
+                .map(tag -> tag.getValue())
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.fiap.Ayra.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordEncoder que mede o tempo de cada encode/matches. O bcrypt é
+ * propositalmente lento e domina a latência do /login e do cadastro de usuários.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("ayra.password.encode")
+                .description("Tempo para gerar o hash de uma senha")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.matchesTimer = Timer.builder("ayra.password.matches")
+                .description("Tempo para comparar uma senha com o hash")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.fiap.Ayra.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Modo de execução em threads virtuais (perfil {@code virtual}).
+ *
+ * O Spring Boot já executa o Tomcat, o @Async e o @Scheduled em threads virtuais
+ * quando {@code spring.threads.virtual.enabled=true} e a JVM é 21+. Aqui apenas
+ * limitamos o acesso ao banco ao tamanho do pool de conexões.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            private final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrency = environment.getProperty("ayra.db.max-concurrency", Integer.class, poolSize);
+                long timeout = environment.getProperty("ayra.db.acquire-timeout-ms", Long.class, 2000L);
+
+                if (Runtime.version().feature() < 21) {
+                    log.warn("spring.threads.virtual.enabled=true exige Java 21+; executando em threads de plataforma");
+                }
+                log.info("Acesso ao banco limitado a {} conexões simultâneas", maxConcurrency);
+                return new BoundedDataSource(dataSource, maxConcurrency, timeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.fiap.Ayra.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.Ayra.controller.AuthController;
+
+/**
+ * Aquece o JIT antes de a aplicação ser marcada como pronta.
+ *
+ * O Spring Boot só muda o estado de prontidão para {@code ACCEPTING_TRAFFIC} depois
+ * que os listeners de {@link ApplicationReadyEvent} terminam; este listener roda
+ * nesse intervalo, com o Tomcat já escutando, e repete requisições sintéticas contra
+ * a própria instância: login, o {@code AuthFilter} com verificação do JWT, filtros
+ * que montam Specifications e a serialização das listagens. Para quando a latência
+ * das rodadas estabiliza ou quando {@code max-duration-ms} é atingido.
+ *
+ * As rotas públicas vão com o {@link ResponseCacheFilter#BYPASS_HEADER}: sem ele,
+ * depois da primeira rodada tudo seria acerto de cache e nenhuma consulta nem
+ * serialização seria aquecida.
+ */
+@Component
+public class WarmupRunner {
+
+    private static final List<String> PUBLIC_PATHS = List.of(
+            "/alert",
+            "/alert?intensity=high",
+            "/alert?latitude=-23.5505&longitude=-46.6333",
+            "/map-marker",
+            "/map-marker/1",
+            "/coordinates?latitude=-23.5505&longitude=-46.6333",
+            "/safe-routes/by-alert/1",
+            "/safe-location/by-alert/1",
+            "/safe-tip/by-alert/1");
+
+    private static final List<String> AUTHENTICATED_PATHS = List.of("/users/me");
+
+    private static final int LOGIN_RETRY_ROUNDS = 10;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ResponseCacheFilter responseCache;
+
+    @Value("${ayra.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ayra.warmup.email:joao@example.com}")
+    private String email;
+
+    @Value("${ayra.warmup.password:senha123}")
+    private String password;
+
+    @Value("${ayra.warmup.min-rounds:20}")
+    private int minRounds;
+
+    // Rodadas comparadas em cada janela (média das últimas N contra as N anteriores)
+    @Value("${ayra.warmup.window:5}")
+    private int window;
+
+    // Variação máxima entre janelas para considerar a latência estável
+    @Value("${ayra.warmup.tolerance:0.1}")
+    private double tolerance;
+
+    @Value("${ayra.warmup.max-duration-ms:30000}")
+    private long maxDurationMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext web)
+                || web.getWebServer() == null || web.getWebServer().getPort() <= 0) {
+            return;
+        }
+
+        String baseUrl = "http://localhost:" + web.getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+
+        String token = login(client, baseUrl);
+        List<Long> rounds = new ArrayList<>();
+        boolean stable = false;
+        try {
+            while (System.nanoTime() < deadline) {
+                // O seed roda em paralelo: tenta de novo o login de tempos em tempos
+                if (token == null && rounds.size() % LOGIN_RETRY_ROUNDS == LOGIN_RETRY_ROUNDS - 1) {
+                    token = login(client, baseUrl);
+                }
+                rounds.add(round(client, baseUrl, token));
+                if (rounds.size() >= Math.max(minRounds, 2 * window) && stable(rounds)) {
+                    stable = true;
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Aquecimento interrompido: {}", e.getMessage());
+        }
+
+        if (rounds.isEmpty()) {
+            return;
+        }
+        log.info("Aquecimento {} em {} ms: {} rodadas, rodada de {} ms na primeira e {} ms na última",
+                stable ? "estabilizado" : "encerrado sem estabilizar",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), rounds.size(),
+                TimeUnit.NANOSECONDS.toMillis(rounds.get(0)),
+                TimeUnit.NANOSECONDS.toMillis(rounds.get(rounds.size() - 1)));
+    }
+
+    // Login fora das rodadas: o bcrypt domina o tempo e não depende do JIT
+    private String login(HttpClient client, String baseUrl) {
+        try {
+            String body = objectMapper.writeValueAsString(new AuthController.Credentials(email, password));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.debug("Aquecimento sem rotas autenticadas: login de {} retornou {}", email, response.statusCode());
+                return null;
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+            return json.path("token").asText(null);
+        } catch (Exception e) {
+            log.warn("Aquecimento sem rotas autenticadas: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private long round(HttpClient client, String baseUrl, String token) throws Exception {
+        long started = System.nanoTime();
+        for (String path : PUBLIC_PATHS) {
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header(ResponseCacheFilter.BYPASS_HEADER, responseCache.bypassToken()).GET().build());
+        }
+        if (token != null) {
+            for (String path : AUTHENTICATED_PATHS) {
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Authorization", "Bearer " + token).GET().build());
+            }
+        }
+        return System.nanoTime() - started;
+    }
+
+    // O status não importa (ex.: 404 antes do seed): o objetivo é executar o código
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private boolean stable(List<Long> rounds) {
+        int size = rounds.size();
+        double recent = mean(rounds.subList(size - window, size));
+        double previous = mean(rounds.subList(size - 2 * window, size - window));
+        return Math.abs(recent - previous) <= tolerance * previous;
+    }
+
+    private static double mean(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.fiap.Ayra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Envio de marcadores pelo WebSocket ({@code ayra.ws.*}). Validado na inicialização:
+ * um lote vazio faria o laço de envio do {@code MapMarkerBroadcaster} nunca terminar.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "ayra.ws")
+public class WebSocketProperties {
+
+    // Marcadores por mensagem; células com mais que isso recebem várias mensagens
+    @Min(1)
+    private int maxBatchSize = 200;
+}
@@ -6,32 +6,77 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import br.com.fiap.Ayra.archive.ArchiveService;
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
 import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.dto.CompactResponse;
+import br.com.fiap.Ayra.model.dto.CompactResponse.AlertItem;
 import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.CompactViews;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import br.com.fiap.Ayra.service.SingleFlight;
 import br.com.fiap.Ayra.specification.AlertSpecification;
+import br.com.fiap.Ayra.specification.SparseFields;
+import jakarta.persistence.EntityManager;
 
 @RestController
 @RequestMapping("/alert")
 @Tag(name = "Alertas", description = "Endpoints para gerenciamento de alertas geográficos")
 public class AlertController {
 
-    public record AlertFilter(String intensity, Double latitude, Double longitude) {}
+    // status: active (padrão), expired ou all; from/to: intervalo de alertDatetime (ISO 8601)
+    public record AlertFilter(String intensity, Double latitude, Double longitude, String status,
+                              @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime from,
+                              @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime to) {}
+
+    private static final List<String> STATUSES = List.of(AlertLifecycle.ACTIVE, AlertLifecycle.EXPIRED, "all");
 
     @Autowired
     private AlertRepository repository;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AlertLifecycle lifecycle;
+
+    @Autowired
+    private ArchiveService archive;
+
     @GetMapping
     @Operation(
         summary = "Lista todos os alertas",
-        description = "Retorna uma lista paginada de alertas cadastrados. Aceita filtros por intensidade ou proximidade geográfica.",
+        description = "Retorna uma lista paginada dos alertas em vigor, lida do conjunto ativo em memória. Aceita filtros por intensidade ou proximidade geográfica; status=expired ou status=all consulta o histórico no banco. Cada alerta traz riskScore (intensidade, raio, recência e densidade de marcadores próximos), e sort=riskScore,desc lista primeiro os de maior risco.",
         parameters = {
+            @Parameter(name = "status", description = "'active' (padrão), 'expired' ou 'all'", example = "active"),
+            @Parameter(name = "from", description = "Início do intervalo de alertDatetime (inclusivo); com status=expired ou all, datas antigas também leem o arquivo", example = "2024-01-01T00:00:00Z"),
+            @Parameter(name = "to", description = "Fim do intervalo de alertDatetime (exclusivo)", example = "2024-02-01T00:00:00Z"),
             @Parameter(name = "intensity", description = "Filtrar por intensidade ('high', 'medium', 'low')", example = "high"),
             @Parameter(name = "latitude", description = "Latitude central para busca", example = "-23.567890"),
             @Parameter(name = "longitude", description = "Longitude central para busca", example = "-46.654321")
@@ -39,13 +84,131 @@ public class AlertController {
         responses = {
             @ApiResponse(responseCode = "200", description = "Listagem retornada com sucesso",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Status desconhecido ou ordenação que não é por data com from alcançando o arquivo",
+                content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor",
                 content = @Content(mediaType = "application/json"))
         }
     )
     public Page<Alert> getAll(
             AlertFilter filters,
-            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable pageable) {
-        return repository.findAll(AlertSpecification.withFilters(filters), pageable);
+            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable requested,
+            WebRequest request) {
+        checkStatus(filters);
+        Pageable pageable = bySortableRisk(requested);
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.ALERT, filters, pageable), versions.lastModified(ResourceCollection.ALERT))) {
+            return null;
+        }
+
+        // Alertas em vigor saem da memória; o histórico continua no banco
+        if (lifecycle.serves(filters, pageable)) {
+            return lifecycle.page(filters, pageable);
+        }
+
+        // Requisições idênticas simultâneas (ex: todos perto de um alerta novo) dividem a mesma consulta
+        return singleFlight.load(ResourceCollection.ALERT, filters, pageable, () -> find(filters, pageable));
+    }
+
+    // Com fields também presente, quem responde é getAllFields
+    @GetMapping(params = { "view=compact", "!fields" })
+    @Operation(
+        summary = "Lista os alertas em formato compacto",
+        description = "Mesma listagem de GET /alert, mas marcadores e coordenadas aparecem uma única vez em 'included', indexados pelo ID, e os alertas os referenciam por coordinatesId e mapMarkerId.",
+        parameters = {
+            @Parameter(name = "view", description = "Formato da resposta", example = "compact"),
+            @Parameter(name = "status", description = "'active' (padrão), 'expired' ou 'all'", example = "active"),
+            @Parameter(name = "from", description = "Início do intervalo de alertDatetime (inclusivo); com status=expired ou all, datas antigas também leem o arquivo", example = "2024-01-01T00:00:00Z"),
+            @Parameter(name = "to", description = "Fim do intervalo de alertDatetime (exclusivo)", example = "2024-02-01T00:00:00Z"),
+            @Parameter(name = "intensity", description = "Filtrar por intensidade ('high', 'medium', 'low')", example = "high"),
+            @Parameter(name = "latitude", description = "Latitude central para busca", example = "-23.567890"),
+            @Parameter(name = "longitude", description = "Longitude central para busca", example = "-46.654321")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Listagem retornada com sucesso",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = CompactResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor",
+                content = @Content(mediaType = "application/json"))
+        }
+    )
+    public CompactResponse<AlertItem> getAllCompact(
+            AlertFilter filters,
+            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable requested,
+            WebRequest request) {
+        checkStatus(filters);
+        Pageable pageable = bySortableRisk(requested);
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.ALERT, filters, pageable, "compact"), versions.lastModified(ResourceCollection.ALERT))) {
+            return null;
+        }
+
+        return CompactViews.alerts(lifecycle.serves(filters, pageable) ? lifecycle.page(filters, pageable) : find(filters, pageable));
+    }
+
+    @GetMapping(params = "fields")
+    @Operation(
+        summary = "Lista os alertas com campos escolhidos",
+        description = "Mesma listagem de GET /alert, mas cada item traz só os campos pedidos (o id sempre vem). A consulta lê apenas essas colunas e só faz os joins necessários. Um prefixo como 'coordinates' seleciona todos os campos das coordenadas.",
+        parameters = {
+            @Parameter(name = "fields", description = "Campos separados por vírgula", example = "title,intensity,coordinates.latitude,coordinates.longitude"),
+            @Parameter(name = "status", description = "'active' (padrão), 'expired' ou 'all'", example = "active"),
+            @Parameter(name = "intensity", description = "Filtrar por intensidade ('high', 'medium', 'low')", example = "high"),
+            @Parameter(name = "latitude", description = "Latitude central para busca", example = "-23.567890"),
+            @Parameter(name = "longitude", description = "Longitude central para busca", example = "-46.654321")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Listagem retornada com sucesso",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido ou intervalo que alcança o arquivo",
+                content = @Content(mediaType = "application/json"))
+        }
+    )
+    public Page<Map<String, Object>> getAllFields(
+            @RequestParam String fields,
+            AlertFilter filters,
+            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable requested,
+            WebRequest request) {
+        checkStatus(filters);
+        Pageable pageable = bySortableRisk(requested);
+        List<String> paths = resolveFields(fields);
+        // A projeção só conhece as colunas da tabela quente
+        if (archive.covers(filters)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields não lê alertas arquivados; remova fields ou use um from mais recente");
+        }
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.ALERT, filters, pageable, paths), versions.lastModified(ResourceCollection.ALERT))) {
+            return null;
+        }
+
+        return SparseFields.findAll(entityManager, Alert.class, repository, AlertSpecification.withFilters(filters), paths, pageable);
+    }
+
+    // Intervalos que alcançam alertas arquivados leem também o arquivo
+    private Page<Alert> find(AlertFilter filters, Pageable pageable) {
+        return archive.covers(filters) ? archive.alerts(filters, pageable)
+                : repository.findAll(AlertSpecification.withFilters(filters), pageable);
+    }
+
+    // riskScore muda com o tempo; quem ordena é o risk_rank gravado, que dá a mesma ordem
+    private static Pageable bySortableRisk(Pageable pageable) {
+        if (pageable.getSort().getOrderFor("riskScore") == null) {
+            return pageable;
+        }
+        Sort sort = Sort.by(pageable.getSort().stream()
+                .map(order -> "riskScore".equals(order.getProperty()) ? order.withProperty("riskRank") : order)
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private static void checkStatus(AlertFilter filters) {
+        if (filters.status() != null && !STATUSES.contains(filters.status())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status desconhecido: " + filters.status());
+        }
+    }
+
+    private static List<String> resolveFields(String fields) {
+        try {
+            return SparseFields.resolve(fields, AlertSpecification.FIELDS);
+        } catch (PropertyReferenceException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,17 +6,26 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import br.com.fiap.Ayra.archive.ArchiveService;
 import br.com.fiap.Ayra.model.Coordinates;
 import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import br.com.fiap.Ayra.service.SingleFlight;
 import br.com.fiap.Ayra.specification.CoordinatesSpecification;
 
 @RestController
@@ -24,18 +33,32 @@ import br.com.fiap.Ayra.specification.CoordinatesSpecification;
 @Tag(name = "Coordenadas", description = "Endpoints para gerenciamento de coordenadas geográficas")
 public class CoordinatesController {
 
-    public record CoordinatesFilter(Double latitude, Double longitude) {}
+    // from/to: intervalo de dateCoordinate (yyyy-MM-dd); datas antigas também leem o arquivo
+    public record CoordinatesFilter(Double latitude, Double longitude,
+                                    @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+                                    @DateTimeFormat(iso = ISO.DATE) LocalDate to) {}
 
     @Autowired
     private CoordinatesRepository repository;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private ArchiveService archive;
+
     @GetMapping
     @Operation(
         summary = "Lista todas as coordenadas",
-        description = "Retorna uma página com coordenadas geográficas cadastradas, permitindo filtro opcional por latitude ou longitude.",
+        description = "Retorna uma página com coordenadas geográficas cadastradas, permitindo filtro opcional por latitude, longitude ou intervalo de datas. Coordenadas antigas sem referência ficam no arquivo, que só é lido quando 'from' alcança as datas arquivadas.",
         parameters = {
             @Parameter(name = "latitude", description = "Filtrar por proximidade de latitude", example = "-23.567890"),
-            @Parameter(name = "longitude", description = "Filtrar por proximidade de longitude", example = "-46.654321")
+            @Parameter(name = "longitude", description = "Filtrar por proximidade de longitude", example = "-46.654321"),
+            @Parameter(name = "from", description = "Data inicial (inclusiva)", example = "2024-01-01"),
+            @Parameter(name = "to", description = "Data final (inclusiva)", example = "2024-12-31")
         },
         responses = {
             @ApiResponse(responseCode = "200", description = "Listagem retornada com sucesso",
@@ -47,8 +70,15 @@ public class CoordinatesController {
         }
     )
     public Page<Coordinates> getAll(CoordinatesFilter filters,
-                                    @PageableDefault(size = 10, sort = "dateCoordinate", direction = Direction.DESC) Pageable pageable) {
+                                    @PageableDefault(size = 10, sort = "dateCoordinate", direction = Direction.DESC) Pageable pageable,
+                                    WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.COORDINATES, filters, pageable), versions.lastModified(ResourceCollection.COORDINATES))) {
+            return null;
+        }
+
         var specification = CoordinatesSpecification.withFilters(filters);
-        return repository.findAll(specification, pageable);
+        return singleFlight.load(ResourceCollection.COORDINATES, filters, pageable,
+                () -> archive.covers(filters) ? archive.coordinates(filters, pageable) : repository.findAll(specification, pageable));
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package br.com.fiap.Ayra.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.fiap.Ayra.geo.BoundingBox;
+import br.com.fiap.Ayra.geo.GeoJsonWriter;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.GeoJsonService;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@Tag(name = "GeoJSON", description = "Marcadores e alertas como FeatureCollection GeoJSON para carregar mapas inteiros")
+public class GeoJsonController {
+
+    private static final String GEO_JSON = "application/geo+json";
+
+    @Autowired
+    private GeoJsonService service;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Value("${ayra.geojson.precision:5}")
+    private int defaultPrecision;
+
+    @GetMapping("/map-marker.geojson")
+    @Operation(
+        summary = "Marcadores como GeoJSON",
+        description = "Todos os marcadores da área como FeatureCollection de pontos, sem paginação. A resposta é gerada enquanto o banco é lido; a descrição não é incluída (use GET /map-marker/{id}).",
+        parameters = {
+            @Parameter(name = "bbox", description = "Área: minLon,minLat,maxLon,maxLat", example = "-46.83,-23.72,-46.36,-23.36"),
+            @Parameter(name = "intensity", description = "Filtrar por intensidade ('high', 'medium', 'low')", example = "high"),
+            @Parameter(name = "precision", description = "Casas decimais das coordenadas (0 a 7)", example = "5")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "FeatureCollection", content = @Content(mediaType = GEO_JSON)),
+            @ApiResponse(responseCode = "400", description = "bbox ou precision inválidos", content = @Content(mediaType = "application/json"))
+        }
+    )
+    public void mapMarkers(@RequestParam(required = false) String bbox,
+                           @RequestParam(required = false) String intensity,
+                           @RequestParam(required = false) Integer precision,
+                           WebRequest request, HttpServletResponse response) throws IOException {
+        BoundingBox box = bbox(bbox);
+        int digits = precision(precision);
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.MAP_MARKER, "geojson", box, intensity, digits), versions.lastModified(ResourceCollection.MAP_MARKER))) {
+            return;
+        }
+
+        response.setContentType(GEO_JSON);
+        service.writeMapMarkers(box, intensity, digits, response.getOutputStream());
+    }
+
+    @GetMapping("/alert.geojson")
+    @Operation(
+        summary = "Alertas como GeoJSON",
+        description = "Todos os alertas em vigor da área como FeatureCollection de pontos, sem paginação. A resposta é gerada enquanto o banco é lido; a descrição não é incluída.",
+        parameters = {
+            @Parameter(name = "bbox", description = "Área: minLon,minLat,maxLon,maxLat", example = "-46.83,-23.72,-46.36,-23.36"),
+            @Parameter(name = "intensity", description = "Filtrar por intensidade ('high', 'medium', 'low')", example = "high"),
+            @Parameter(name = "precision", description = "Casas decimais das coordenadas (0 a 7)", example = "5")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "FeatureCollection", content = @Content(mediaType = GEO_JSON)),
+            @ApiResponse(responseCode = "400", description = "bbox ou precision inválidos", content = @Content(mediaType = "application/json"))
+        }
+    )
+    public void alerts(@RequestParam(required = false) String bbox,
+                       @RequestParam(required = false) String intensity,
+                       @RequestParam(required = false) Integer precision,
+                       WebRequest request, HttpServletResponse response) throws IOException {
+        BoundingBox box = bbox(bbox);
+        int digits = precision(precision);
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.ALERT, "geojson", box, intensity, digits), versions.lastModified(ResourceCollection.ALERT))) {
+            return;
+        }
+
+        response.setContentType(GEO_JSON);
+        service.writeAlerts(box, intensity, digits, response.getOutputStream());
+    }
+
+    private static BoundingBox bbox(String bbox) {
+        try {
+            return BoundingBox.parse(bbox);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private int precision(Integer precision) {
+        int digits = precision != null ? precision : defaultPrecision;
+        if (digits < 0 || digits > GeoJsonWriter.MAX_PRECISION) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "precision deve estar entre 0 e " + GeoJsonWriter.MAX_PRECISION);
+        }
+        return digits;
+    }
+}
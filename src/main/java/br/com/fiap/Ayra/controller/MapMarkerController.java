@@ -12,6 +12,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.data.domain.Page;
@@ -19,10 +20,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import br.com.fiap.Ayra.model.Coordinates;
 import br.com.fiap.Ayra.model.MapMarker;
-import br.com.fiap.Ayra.repository.CoordinatesRepository;
 import br.com.fiap.Ayra.repository.MapMarkerRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.CoordinatesService;
+import br.com.fiap.Ayra.service.MapMarkerBroadcaster;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import br.com.fiap.Ayra.service.SingleFlight;
 import br.com.fiap.Ayra.specification.MapMarkerSpecification;
+import br.com.fiap.Ayra.specification.SparseFields;
+import jakarta.persistence.EntityManager;
+import br.com.fiap.Ayra.geo.GeoCell;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 
 
 @RestController
@@ -34,7 +44,19 @@ public class MapMarkerController {
     private MapMarkerRepository repository;
 
     @Autowired
-    private CoordinatesRepository coordinatesRepository;
+    private CoordinatesService coordinatesService;
+
+    @Autowired
+    private MapMarkerBroadcaster broadcaster;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private EntityManager entityManager;
 
     // POST /map-marker - Criar novo marcador
     @PostMapping
@@ -67,36 +89,8 @@ public class MapMarkerController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "As coordenadas são obrigatórias.");
         }
 
-        boolean exists = false;
-
-        // Verifica se já existe pelo ID ou por proximidade geográfica
-        if (coordinates.getId() != null) {
-            exists = coordinatesRepository.existsById(coordinates.getId());
-        } else {
-            exists = !coordinatesRepository
-                .findByLatitudeBetweenAndLongitudeBetween(
-                    coordinates.getLatitude() - 0.0001,
-                    coordinates.getLatitude() + 0.0001,
-                    coordinates.getLongitude() - 0.0001,
-                    coordinates.getLongitude() + 0.0001)
-                .isEmpty();
-        }
-
-        // Se não existir, salva as coordenadas
-        if (!exists) {
-            coordinates = coordinatesRepository.save(coordinates); // Salva e obtém a instância persistida
-        } else {
-            // Se existir, busca a instância persistida no banco
-            coordinates = coordinatesRepository
-                .findByLatitudeBetweenAndLongitudeBetween(
-                    coordinates.getLatitude() - 0.0001,
-                    coordinates.getLatitude() + 0.0001,
-                    coordinates.getLongitude() - 0.0001,
-                    coordinates.getLongitude() + 0.0001)
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Coordenadas não encontradas"));
-        }
+        // Reaproveita coordenadas existentes ou salva novas
+        coordinates = coordinatesService.resolve(coordinates);
 
         // Garante que a instância persistida seja usada
         map.setCoordinates(coordinates);
@@ -104,6 +98,9 @@ public class MapMarkerController {
         // Salva o marcador no banco de dados
         MapMarker saved = repository.save(map);
 
+        // Notifica os mapas abertos na célula do marcador
+        broadcaster.publish(saved);
+
         // Retorna a URI do recurso criado
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -130,7 +127,12 @@ public class MapMarkerController {
                 content = @Content(mediaType = "application/json"))
         }
     )
-    public ResponseEntity<MapMarker> getById(@PathVariable Long id) {
+    public ResponseEntity<MapMarker> getById(@PathVariable Long id, WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.strongEtag(ResourceCollection.MAP_MARKER, id), versions.lastModified(ResourceCollection.MAP_MARKER))) {
+            return null;
+        }
+
         return repository.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -150,8 +152,75 @@ public class MapMarkerController {
     )
     public ResponseEntity<Page<MapMarker>> getAll(
             MapMarkerFilter filters,
-            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.MAP_MARKER, filters, pageable), versions.lastModified(ResourceCollection.MAP_MARKER))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(singleFlight.load(ResourceCollection.MAP_MARKER, filters, pageable,
+                () -> repository.findAll(MapMarkerSpecification.withFilters(filters), pageable)));
+    }
 
-        return ResponseEntity.ok(repository.findAll(MapMarkerSpecification.withFilters(filters), pageable));
+    // GET /map-marker?fields=title,coordinates - Listar só os campos pedidos
+    @GetMapping(params = "fields")
+    @Operation(
+        summary = "Lista os marcadores com campos escolhidos",
+        description = "Mesma listagem de GET /map-marker, mas cada item traz só os campos pedidos (o id sempre vem). A consulta lê apenas essas colunas e só faz os joins necessários. Um prefixo como 'coordinates' seleciona todos os campos das coordenadas.",
+        parameters = {
+            @Parameter(name = "fields", description = "Campos separados por vírgula", example = "title,intensity,coordinates.latitude,coordinates.longitude")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Lista de marcadores retornada com sucesso",
+                content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido",
+                content = @Content(mediaType = "application/json"))
+        }
+    )
+    public ResponseEntity<Page<Map<String, Object>>> getAllFields(
+            @RequestParam String fields,
+            MapMarkerFilter filters,
+            @PageableDefault(size = 10, sort = "id", direction = Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        List<String> paths;
+        try {
+            paths = SparseFields.resolve(fields, MapMarkerSpecification.FIELDS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.MAP_MARKER, filters, pageable, paths), versions.lastModified(ResourceCollection.MAP_MARKER))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(SparseFields.findAll(entityManager, MapMarker.class, repository,
+                MapMarkerSpecification.withFilters(filters), paths, pageable));
+    }
+
+    // GET /map-marker/cells - Tópicos WebSocket que cobrem um viewport
+    @GetMapping("/cells")
+    @Operation(
+        summary = "Lista os tópicos de um viewport",
+        description = "Retorna os tópicos STOMP (/topic/map-marker/{celula}) que cobrem o retângulo informado. Clientes conectados em /ws assinam esses tópicos para receber novos marcadores sem recarregar a lista.",
+        parameters = {
+            @Parameter(name = "minLat", description = "Latitude mínima do viewport", example = "-23.60"),
+            @Parameter(name = "minLon", description = "Longitude mínima do viewport", example = "-46.70"),
+            @Parameter(name = "maxLat", description = "Latitude máxima do viewport", example = "-23.50"),
+            @Parameter(name = "maxLon", description = "Longitude máxima do viewport", example = "-46.60")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Tópicos retornados com sucesso",
+                content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Viewport grande demais",
+                content = @Content(mediaType = "application/json"))
+        }
+    )
+    public List<String> getCells(@RequestParam double minLat, @RequestParam double minLon,
+                                 @RequestParam double maxLat, @RequestParam double maxLon) {
+        List<GeoCell> cells = GeoCell.covering(minLat, minLon, maxLat, maxLon, 400);
+        if (cells.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Viewport grande demais para assinatura por células.");
+        }
+        return cells.stream().map(MapMarkerBroadcaster::topicFor).toList();
     }
-}
\ No newline at end of file
+}
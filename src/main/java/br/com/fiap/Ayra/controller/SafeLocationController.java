@@ -8,12 +8,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Pageable;
 
 import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.dto.CompactResponse;
+import br.com.fiap.Ayra.model.dto.CompactResponse.SafeLocationItem;
 import br.com.fiap.Ayra.repository.SafeLocationRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.CompactViews;
+import br.com.fiap.Ayra.service.ResourceCollection;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
@@ -24,15 +30,48 @@ public class SafeLocationController {
     @Autowired
     private SafeLocationRepository repository;
 
+    @Autowired
+    private CollectionVersions versions;
+
     // GET /safe-location - Listar todos os locais seguros
     @GetMapping
-    public ResponseEntity<Page<SafeLocation>> getAll(@PageableDefault(size = 10) Pageable pageable) {
+    public ResponseEntity<Page<SafeLocation>> getAll(@PageableDefault(size = 10) Pageable pageable, WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.SAFE_LOCATION, pageable), versions.lastModified(ResourceCollection.SAFE_LOCATION))) {
+            return null;
+        }
+
         return ResponseEntity.ok(repository.findAll(pageable));
     }
 
+    // GET /safe-location?view=compact - Mesma listagem, com o alerta de cada item em included
+    @GetMapping(params = "view=compact")
+    public ResponseEntity<CompactResponse<SafeLocationItem>> getAllCompact(@PageableDefault(size = 10) Pageable pageable, WebRequest request) {
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.SAFE_LOCATION, pageable, "compact"), versions.lastModified(ResourceCollection.SAFE_LOCATION))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(CompactViews.safeLocations(repository.findAll(pageable)));
+    }
+
     // GET /safe-location/by-alert/{alertId}
     @GetMapping("/by-alert/{alertId}")
-    public ResponseEntity<List<SafeLocation>> getByAlert(@PathVariable Long alertId) {
+    public ResponseEntity<List<SafeLocation>> getByAlert(@PathVariable Long alertId, WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.strongEtag(ResourceCollection.SAFE_LOCATION, "by-alert-" + alertId), versions.lastModified(ResourceCollection.SAFE_LOCATION))) {
+            return null;
+        }
+
         return ResponseEntity.ok(repository.findByAlertId(alertId));
     }
-}
\ No newline at end of file
+
+    // GET /safe-location/by-alert/{alertId}?view=compact - O alerta aparece uma única vez em included
+    @GetMapping(value = "/by-alert/{alertId}", params = "view=compact")
+    public ResponseEntity<CompactResponse<SafeLocationItem>> getByAlertCompact(@PathVariable Long alertId, WebRequest request) {
+        if (request.checkNotModified(versions.strongEtag(ResourceCollection.SAFE_LOCATION, "by-alert-" + alertId + "-compact"), versions.lastModified(ResourceCollection.SAFE_LOCATION))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(CompactViews.safeLocations(repository.findByAlertId(alertId)));
+    }
+}
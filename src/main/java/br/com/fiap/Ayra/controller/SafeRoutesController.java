@@ -3,16 +3,28 @@ package br.com.fiap.Ayra.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Pageable;
 import br.com.fiap.Ayra.model.SafeRoutes;
+import br.com.fiap.Ayra.model.dto.CompactResponse;
+import br.com.fiap.Ayra.model.dto.EvacuationRoute;
+import br.com.fiap.Ayra.model.dto.CompactResponse.SafeRoutesItem;
 import br.com.fiap.Ayra.repository.SafeRoutesRepository;
+import br.com.fiap.Ayra.routing.EvacuationRouter;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.CompactViews;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
@@ -23,15 +35,65 @@ public class SafeRoutesController {
     @Autowired
     private SafeRoutesRepository repository;
 
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private EvacuationRouter router;
+
     // GET /safe-routes - Listar todas as rotas (opcionalmente paginado)
     @GetMapping
-    public ResponseEntity<Page<SafeRoutes>> getAll(@PageableDefault(size = 10) Pageable pageable) {
+    public ResponseEntity<Page<SafeRoutes>> getAll(@PageableDefault(size = 10) Pageable pageable, WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.SAFE_ROUTES, pageable), versions.lastModified(ResourceCollection.SAFE_ROUTES))) {
+            return null;
+        }
+
         return ResponseEntity.ok(repository.findAll(pageable));
     }
 
+    // GET /safe-routes?view=compact - Mesma listagem, com o alerta de cada item em included
+    @GetMapping(params = "view=compact")
+    public ResponseEntity<CompactResponse<SafeRoutesItem>> getAllCompact(@PageableDefault(size = 10) Pageable pageable, WebRequest request) {
+        if (request.checkNotModified(versions.weakEtag(ResourceCollection.SAFE_ROUTES, pageable, "compact"), versions.lastModified(ResourceCollection.SAFE_ROUTES))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(CompactViews.safeRoutes(repository.findAll(pageable)));
+    }
+
     // GET /safe-routes/by-alert/{alertId} - Listar rotas seguras por alerta
     @GetMapping("/by-alert/{alertId}")
-    public ResponseEntity<List<SafeRoutes>> getByAlert(@PathVariable Long alertId) {
+    public ResponseEntity<List<SafeRoutes>> getByAlert(@PathVariable Long alertId, WebRequest request) {
+        // Responde 304 sem consultar o banco se nada mudou desde a última leitura do cliente
+        if (request.checkNotModified(versions.strongEtag(ResourceCollection.SAFE_ROUTES, "by-alert-" + alertId), versions.lastModified(ResourceCollection.SAFE_ROUTES))) {
+            return null;
+        }
+
         return ResponseEntity.ok(repository.findByAlertId(alertId));
     }
-}
\ No newline at end of file
+
+    // GET /safe-routes/by-alert/{alertId}?view=compact - O alerta aparece uma única vez em included
+    @GetMapping(value = "/by-alert/{alertId}", params = "view=compact")
+    public ResponseEntity<CompactResponse<SafeRoutesItem>> getByAlertCompact(@PathVariable Long alertId, WebRequest request) {
+        if (request.checkNotModified(versions.strongEtag(ResourceCollection.SAFE_ROUTES, "by-alert-" + alertId + "-compact"), versions.lastModified(ResourceCollection.SAFE_ROUTES))) {
+            return null;
+        }
+
+        return ResponseEntity.ok(CompactViews.safeRoutes(repository.findByAlertId(alertId)));
+    }
+
+    // GET /safe-routes/evacuation?latitude=..&longitude=.. - Rota até o local seguro mais próximo, desviando dos alertas em vigor
+    @GetMapping("/evacuation")
+    @Operation(
+        summary = "Calcula uma rota de evacuação",
+        description = "Rota pelo grafo viário, a partir do ponto informado, até o local seguro (com latitude e longitude) de menor custo. "
+            + "Vias dentro do raio de alertas em vigor custam ayra.routing.alert-penalty vezes mais; dangerKm é o trecho percorrido dentro deles. "
+            + "Responde 404 se o ponto estiver longe do grafo ou nenhum local seguro for alcançável, e 503 se o grafo não estiver configurado."
+    )
+    public ResponseEntity<EvacuationRoute> evacuation(@RequestParam double latitude, @RequestParam double longitude) {
+        return router.route(latitude, longitude)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhum local seguro alcançável a partir desse ponto"));
+    }
+}
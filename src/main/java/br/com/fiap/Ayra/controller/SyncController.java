@@ -0,0 +1,45 @@
+package br.com.fiap.Ayra.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.fiap.Ayra.model.dto.SyncResponse;
+import br.com.fiap.Ayra.service.SyncService;
+
+@RestController
+@RequestMapping("/sync")
+@Tag(name = "Sincronização", description = "Sincronização incremental para clientes offline")
+public class SyncController {
+
+    @Autowired
+    private SyncService service;
+
+    @GetMapping
+    @Operation(
+        summary = "Alterações desde uma versão",
+        description = "Retorna apenas os alertas, marcadores, rotas, locais e dicas alterados desde a versão informada. Use since=0 na primeira sincronização e a versão retornada nas seguintes.",
+        parameters = {
+            @Parameter(name = "since", description = "Última versão recebida pelo cliente", example = "0"),
+            @Parameter(name = "limit", description = "Número máximo de alterações processadas", example = "500")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = SyncResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor",
+                content = @Content(mediaType = "application/json"))
+        }
+    )
+    public SyncResponse sync(@RequestParam(defaultValue = "0") long since,
+                             @RequestParam(defaultValue = "500") int limit) {
+        return service.changesSince(since, limit);
+    }
+}
@@ -12,8 +12,8 @@ import org.slf4j.LoggerFactory;
 import br.com.fiap.Ayra.model.Coordinates;
 import br.com.fiap.Ayra.model.User;
 import br.com.fiap.Ayra.model.dto.UserResponse;
-import br.com.fiap.Ayra.repository.CoordinatesRepository;
 import br.com.fiap.Ayra.repository.UserRepository;
+import br.com.fiap.Ayra.service.CoordinatesService;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,7 +37,7 @@ public class UserController {
     private UserRepository repository;
 
     @Autowired
-    private CoordinatesRepository coordinatesRepository;
+    private CoordinatesService coordinatesService;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -66,36 +66,8 @@ public class UserController {
         Coordinates coordinates = user.getCoordinates();
         
         if (coordinates != null) {
-            boolean exists = false;
-
-            // Verifica se já existe pelo ID ou por proximidade geográfica
-            if (coordinates.getId() != null) {
-                exists = coordinatesRepository.existsById(coordinates.getId());
-            } else {
-                exists = !coordinatesRepository
-                    .findByLatitudeBetweenAndLongitudeBetween(
-                        coordinates.getLatitude() - 0.0001,
-                        coordinates.getLatitude() + 0.0001,
-                        coordinates.getLongitude() - 0.0001,
-                        coordinates.getLongitude() + 0.0001)
-                    .isEmpty();
-            }
-
-            // Se não existir, salva as coordenadas
-            if (!exists) {
-                coordinates = coordinatesRepository.save(coordinates); // Salva e obtém a instância persistida
-            } else {
-                // Se existir, busca a instância persistida no banco
-                coordinates = coordinatesRepository
-                    .findByLatitudeBetweenAndLongitudeBetween(
-                        coordinates.getLatitude() - 0.0001,
-                        coordinates.getLatitude() + 0.0001,
-                        coordinates.getLongitude() - 0.0001,
-                        coordinates.getLongitude() + 0.0001)
-                    .stream()
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Coordenadas não encontradas"));
-            }
+            // Reaproveita coordenadas existentes ou salva novas
+            coordinates = coordinatesService.resolve(coordinates, () -> new RuntimeException("Coordenadas não encontradas"));
 
             // Garante que a instância persistida seja usada
             user.setCoordinates(coordinates);
@@ -0,0 +1,66 @@
+package br.com.fiap.Ayra.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Volumes e regiões do gerador de dados sintéticos ({@code ayra.generator.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "ayra.generator")
+public class GeneratorProperties {
+
+    private boolean enabled = false;
+
+    // Cada marcador e cada usuário ganham uma coordenada própria
+    private int markers = 100_000;
+
+    // Alertas reaproveitam marcador e coordenada do mesmo índice, então alerts <= markers
+    private int alerts = 50_000;
+
+    // Rotas, locais seguros e dicas por alerta
+    private int childrenPerAlert = 1;
+
+    private int users = 100_000;
+
+    // Senha dos usuários gerados; o hash bcrypt é calculado uma única vez
+    private String password = "senha123";
+
+    // Alertas distribuídos nos últimos N dias
+    private int days = 30;
+
+    private int batchSize = 1_000;
+
+    private int threads = 4;
+
+    private long seed = 42;
+
+    private List<Region> regions = new ArrayList<>(List.of(
+            new Region("São Paulo", -23.5505, -46.6333, 35, 12),
+            new Region("Rio de Janeiro", -22.9068, -43.1729, 30, 7),
+            new Region("Belo Horizonte", -19.9167, -43.9345, 20, 3),
+            new Region("Curitiba", -25.4284, -49.2733, 18, 2),
+            new Region("Porto Alegre", -30.0346, -51.2177, 18, 2),
+            new Region("Recife", -8.0476, -34.8770, 15, 2)));
+
+    /**
+     * Área onde os pontos são sorteados: a densidade cai com a distância do centro,
+     * como numa mancha urbana. {@code weight} é a fatia relativa de pontos da região.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private String name;
+        private double latitude;
+        private double longitude;
+        private double radiusKm;
+        private double weight;
+    }
+}
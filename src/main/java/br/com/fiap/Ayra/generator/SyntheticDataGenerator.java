@@ -0,0 +1,339 @@
+package br.com.fiap.Ayra.generator;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.Ayra.generator.GeneratorProperties.Region;
+import br.com.fiap.Ayra.geo.GeoDistance;
+import br.com.fiap.Ayra.lifecycle.AlertLifecycleProperties;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+
+/**
+ * Gera dados sintéticos em volume de produção para benchmarks e testes de índices.
+ *
+ * Ativado com {@code ayra.generator.enabled=true}; roda uma vez após a subida da
+ * aplicação. As linhas são inseridas por JDBC em lotes de {@code batch-size},
+ * distribuídos entre {@code threads} conexões, sem passar pelo Hibernate (nem pelo
+ * change_log). Os IDs são atribuídos a partir do maior ID de cada tabela, então
+ * filhos podem referenciar pais sem consultas, e cada linha é sorteada a partir do
+ * seu índice e de {@code seed}: a mesma configuração gera sempre os mesmos dados.
+ */
+@Component
+@ConditionalOnProperty(name = "ayra.generator.enabled", havingValue = "true")
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long index) throws SQLException;
+    }
+
+    private static final String[] HAZARDS = {
+        "Inundação", "Alagamento", "Deslizamento", "Erosão", "Queda de árvore", "Incêndio", "Falta de energia"
+    };
+    private static final String[] ROUTES = {
+        "Avenida principal -> Praça central", "Rua lateral -> Escola municipal",
+        "Via expressa -> Terminal de ônibus", "Rua alta -> Parque estadual"
+    };
+    private static final String[] LOCATIONS = {
+        "Escola municipal", "Ginásio poliesportivo", "Igreja matriz", "Centro comunitário", "Prefeitura"
+    };
+    private static final String[] TIPS = {
+        "Evite áreas alagadas e não atravesse correntezas.",
+        "Desligue a energia elétrica se a água entrar em casa.",
+        "Procure abrigos designados em emergências.",
+        "Afaste-se de encostas e áreas com rachaduras."
+    };
+
+    // Fases distintas sorteiam sequências independentes para o mesmo índice
+    private static final long COORDINATES = 1, MARKER = 2, ALERT = 3, CHILD = 4, USER = 5;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private GeneratorProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private AlertLifecycleProperties lifecycle;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    public void generate() {
+        long markers = properties.getMarkers();
+        long alerts = Math.min(properties.getAlerts(), markers);
+        long children = alerts * properties.getChildrenPerAlert();
+        long users = properties.getUsers();
+        if (alerts < properties.getAlerts()) {
+            log.warn("ayra.generator.alerts limitado a {}: cada alerta usa um marcador", markers);
+        }
+
+        long coordinatesBase = nextId("coordinates", "id_cor");
+        long markerBase = nextId("map_marker", "id_maker");
+        long alertBase = nextId("alert", "id_alert");
+        long routeBase = nextId("safe_routes", "id_routes");
+        long locationBase = nextId("safe_location", "id_location");
+        long tipBase = nextId("safe_tip", "id_tip");
+        long userBase = nextId("user_table", "id_user");
+
+        // Um único bcrypt para todos os usuários
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+        OffsetDateTime now = OffsetDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        log.info("Gerando {} coordenadas, {} marcadores, {} alertas, {} filhos por tipo e {} usuários ({} threads, lotes de {})",
+                markers + users, markers, alerts, children, users, properties.getThreads(), properties.getBatchSize());
+        long started = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("generator-"));
+        try {
+            insert(pool, "coordinates", markers + users,
+                    "insert into coordinates (id_cor, latitude, longitude, date_coordinate) values (?, ?, ?, ?)",
+                    (ps, i) -> {
+                        SplittableRandom random = random(COORDINATES, i);
+                        double[] point = point(region(random), random);
+                        ps.setLong(1, coordinatesBase + i);
+                        ps.setDouble(2, point[0]);
+                        ps.setDouble(3, point[1]);
+                        ps.setDate(4, Date.valueOf(today.minusDays(random.nextInt(Math.max(1, properties.getDays())))));
+                    });
+
+            insert(pool, "map_marker", markers,
+                    "insert into map_marker (id_maker, title, description, intensity, radius, id_cor) values (?, ?, ?, ?, ?, ?)",
+                    (ps, i) -> {
+                        SplittableRandom random = random(MARKER, i);
+                        String hazard = HAZARDS[random.nextInt(HAZARDS.length)];
+                        String region = region(random(COORDINATES, i)).getName();
+                        ps.setLong(1, markerBase + i);
+                        ps.setString(2, hazard + " em " + region);
+                        ps.setString(3, hazard + " registrado por sensores na região de " + region + ".");
+                        ps.setString(4, intensity(random));
+                        ps.setDouble(5, radius(random));
+                        ps.setLong(6, coordinatesBase + i);
+                    });
+
+            insert(pool, "alert", alerts,
+                    "insert into alert (id_alert, title, description, intensity, alert_datetime, expires_at, status, location, radius, coordinates_id, id_map) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    (ps, i) -> {
+                        // Mesmo sorteio do marcador de mesmo índice, para que alerta e marcador combinem
+                        SplittableRandom marker = random(MARKER, i);
+                        String hazard = HAZARDS[marker.nextInt(HAZARDS.length)];
+                        String intensity = intensity(marker);
+                        double radius = radius(marker);
+                        String region = region(random(COORDINATES, i)).getName();
+                        SplittableRandom random = random(ALERT, i);
+                        ps.setLong(1, alertBase + i);
+                        ps.setString(2, hazard + " em " + region);
+                        ps.setString(3, "Alerta de " + hazard.toLowerCase() + " com risco para moradores de " + region + ".");
+                        ps.setString(4, intensity);
+                        OffsetDateTime issued = now.minusMinutes(random.nextLong(TimeUnit.DAYS.toMinutes(Math.max(1, properties.getDays()))));
+                        OffsetDateTime expires = issued.plus(lifecycle.validityOf(intensity));
+                        ps.setObject(5, issued);
+                        ps.setObject(6, expires);
+                        // Os vencidos já nascem no histórico; o restante entra na roda de expiração
+                        ps.setString(7, expires.isAfter(now) ? "active" : "expired");
+                        ps.setString(8, region);
+                        ps.setDouble(9, radius);
+                        ps.setLong(10, coordinatesBase + i);
+                        ps.setLong(11, markerBase + i);
+                    });
+
+            int perAlert = Math.max(1, properties.getChildrenPerAlert());
+            insert(pool, "safe_routes", children,
+                    "insert into safe_routes (id_routes, routes, alert_id_alert) values (?, ?, ?)",
+                    (ps, i) -> {
+                        ps.setLong(1, routeBase + i);
+                        ps.setString(2, ROUTES[random(CHILD, i).nextInt(ROUTES.length)]);
+                        ps.setLong(3, alertBase + i / perAlert);
+                    });
+
+            insert(pool, "safe_location", children,
+                    "insert into safe_location (id_location, location, alert_id_alert) values (?, ?, ?)",
+                    (ps, i) -> {
+                        ps.setLong(1, locationBase + i);
+                        ps.setString(2, LOCATIONS[random(CHILD, i).nextInt(LOCATIONS.length)]);
+                        ps.setLong(3, alertBase + i / perAlert);
+                    });
+
+            insert(pool, "safe_tip", children,
+                    "insert into safe_tip (id_tip, tip, alert_id_alert) values (?, ?, ?)",
+                    (ps, i) -> {
+                        ps.setLong(1, tipBase + i);
+                        ps.setString(2, TIPS[random(CHILD, i).nextInt(TIPS.length)]);
+                        ps.setLong(3, alertBase + i / perAlert);
+                    });
+
+            insert(pool, "user_table", users,
+                    "insert into user_table (id_user, name, email, password, phone, coordinates_id) values (?, ?, ?, ?, ?, ?)",
+                    (ps, i) -> {
+                        long id = userBase + i;
+                        ps.setLong(1, id);
+                        ps.setString(2, "Usuário " + id);
+                        ps.setString(3, "usuario" + id + "@ayra.dev");
+                        ps.setString(4, passwordHash);
+                        // Prefixo 21 não colide com os telefones do seeder
+                        ps.setString(5, String.format("21%09d", id));
+                        ps.setLong(6, coordinatesBase + markers + i);
+                    });
+        } finally {
+            pool.shutdown();
+        }
+
+        restartIdentity("coordinates", "id_cor");
+        restartIdentity("map_marker", "id_maker");
+        restartIdentity("alert", "id_alert");
+        restartIdentity("safe_routes", "id_routes");
+        restartIdentity("safe_location", "id_location");
+        restartIdentity("safe_tip", "id_tip");
+        restartIdentity("user_table", "id_user");
+
+        // Invalida os ETags das listagens
+        for (ResourceCollection collection : ResourceCollection.values()) {
+            versions.bump(collection);
+        }
+
+        log.info("Dados sintéticos gerados em {} s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    /**
+     * Insere {@code rows} linhas em lotes paralelos e espera todos terminarem.
+     */
+    private void insert(ExecutorService pool, String table, long rows, String sql, RowWriter writer) {
+        if (rows <= 0) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        int batchSize = properties.getBatchSize();
+        List<Future<?>> batches = new ArrayList<>();
+        for (long from = 0; from < rows; from += batchSize) {
+            long first = from;
+            int size = (int) Math.min(batchSize, rows - from);
+            batches.add(pool.submit(() -> jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, first + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            })));
+        }
+
+        try {
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batches.forEach(batch -> batch.cancel(true));
+            throw new IllegalStateException("Geração interrompida em " + table, e);
+        } catch (ExecutionException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            throw new IllegalStateException("Falha ao gerar " + table, e.getCause());
+        }
+
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("{}: {} linhas em {} ms ({} linhas/s)", table, rows, millis, rows * 1000 / millis);
+    }
+
+    private long nextId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("select max(" + column + ") from " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    // Os IDs foram informados explicitamente, então a identidade precisa continuar depois deles
+    private void restartIdentity(String table, String column) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (database.contains("Oracle")) {
+            jdbcTemplate.execute("alter table " + table + " modify " + column
+                    + " generated by default as identity (start with limit value)");
+        } else if (database.contains("H2")) {
+            jdbcTemplate.execute("alter table " + table + " alter column " + column + " restart with " + nextId(table, column));
+        } else {
+            log.warn("Não foi possível reiniciar a identidade de {}.{} em {}", table, column, database);
+        }
+    }
+
+    private SplittableRandom random(long phase, long index) {
+        return new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + phase * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private Region region(SplittableRandom random) {
+        List<Region> regions = properties.getRegions();
+        double total = regions.stream().mapToDouble(Region::getWeight).sum();
+        double pick = random.nextDouble() * total;
+        for (Region region : regions) {
+            pick -= region.getWeight();
+            if (pick < 0) {
+                return region;
+            }
+        }
+        return regions.get(regions.size() - 1);
+    }
+
+    /**
+     * Sorteia um ponto da região: a distância do centro segue uma exponencial
+     * (densa no centro, rarefeita na periferia) limitada ao raio.
+     */
+    private static double[] point(Region region, SplittableRandom random) {
+        double distance = Math.min(region.getRadiusKm(), -region.getRadiusKm() / 3 * Math.log(1 - random.nextDouble()));
+        double bearing = random.nextDouble() * 2 * Math.PI;
+        double latitude = region.getLatitude() + GeoDistance.latDelta(distance * Math.cos(bearing));
+        double longitude = region.getLongitude() + GeoDistance.lonDelta(region.getLatitude(), distance * Math.sin(bearing));
+        return new double[] { round(latitude, 1_000_000), round(longitude, 1_000_000) };
+    }
+
+    // Distribuição aproximada: 20% high, 35% medium, 45% low
+    private static String intensity(SplittableRandom random) {
+        double pick = random.nextDouble();
+        return pick < 0.20 ? "high" : pick < 0.55 ? "medium" : "low";
+    }
+
+    private static double radius(SplittableRandom random) {
+        return round(0.5 + random.nextDouble() * 19.5, 100);
+    }
+
+    private static double round(double value, double scale) {
+        return Math.round(value * scale) / scale;
+    }
+}
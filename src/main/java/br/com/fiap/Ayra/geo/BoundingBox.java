@@ -0,0 +1,34 @@
+package br.com.fiap.Ayra.geo;
+
+/**
+ * Retângulo em graus, na ordem do GeoJSON e do parâmetro {@code bbox}:
+ * oeste, sul, leste, norte ({@code minLon,minLat,maxLon,maxLat}).
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+
+    public static final BoundingBox WORLD = new BoundingBox(-180, -90, 180, 90);
+
+    /** Lê {@code "minLon,minLat,maxLon,maxLat"}; nulo ou vazio é o mundo inteiro. */
+    public static BoundingBox parse(String bbox) {
+        if (bbox == null || bbox.isBlank()) {
+            return WORLD;
+        }
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox deve ter 4 valores: minLon,minLat,maxLon,maxLat");
+        }
+        double[] values = new double[4];
+        for (int i = 0; i < 4; i++) {
+            values[i] = Double.parseDouble(parts[i].trim());
+            // NaN passaria por todas as comparações abaixo
+            if (!Double.isFinite(values[i])) {
+                throw new IllegalArgumentException("bbox inválido: " + bbox);
+            }
+        }
+        if (values[0] > values[2] || values[1] > values[3]
+                || values[1] < -90 || values[3] > 90 || values[0] < -180 || values[2] > 180) {
+            throw new IllegalArgumentException("bbox inválido: " + bbox);
+        }
+        return new BoundingBox(values[0], values[1], values[2], values[3]);
+    }
+}
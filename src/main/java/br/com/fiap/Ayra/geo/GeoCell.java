@@ -0,0 +1,46 @@
+package br.com.fiap.Ayra.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Célula de uma grade geográfica fixa (em graus).
+ *
+ * O tamanho padrão de 0.01° acompanha a janela de proximidade usada pelas
+ * specifications (±0.01), então um viewport típico cobre poucas células.
+ */
+public record GeoCell(int latIndex, int lonIndex) {
+
+    public static final double SIZE = 0.01;
+
+    public static GeoCell of(double latitude, double longitude) {
+        return new GeoCell((int) Math.floor(latitude / SIZE), (int) Math.floor(longitude / SIZE));
+    }
+
+    /**
+     * Retorna as células que cobrem o retângulo informado, ou uma lista vazia
+     * se o retângulo exigir mais que {@code maxCells} células.
+     */
+    public static List<GeoCell> covering(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        GeoCell min = of(Math.min(minLat, maxLat), Math.min(minLon, maxLon));
+        GeoCell max = of(Math.max(minLat, maxLat), Math.max(minLon, maxLon));
+
+        long total = (long) (max.latIndex - min.latIndex + 1) * (max.lonIndex - min.lonIndex + 1);
+        if (total > maxCells) {
+            return List.of();
+        }
+
+        List<GeoCell> cells = new ArrayList<>((int) total);
+        for (int lat = min.latIndex; lat <= max.latIndex; lat++) {
+            for (int lon = min.lonIndex; lon <= max.lonIndex; lon++) {
+                cells.add(new GeoCell(lat, lon));
+            }
+        }
+        return cells;
+    }
+
+    /** Chave textual da célula, segura para uso em destinos STOMP (ex: "-2356_-4664"). */
+    public String key() {
+        return latIndex + "_" + lonIndex;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.Ayra.geo;
+
+/**
+ * Cálculos de distância sobre a superfície da Terra.
+ *
+ * Os raios de alertas e marcadores ({@code radius}) são tratados em quilômetros.
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoDistance() {}
+
+    /** Distância de grande círculo (haversine) em quilômetros. */
+    public static double km(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Distância, em quilômetros, entre o ponto e o segmento de (lat1, lon1) a (lat2, lon2).
+     * Usa uma projeção plana centrada no ponto: boa para trechos de poucos quilômetros.
+     */
+    public static double segmentKm(double lat, double lon, double lat1, double lon1, double lat2, double lon2) {
+        double kmPerLon = KM_PER_DEGREE * Math.cos(Math.toRadians(lat));
+        double x1 = (lon1 - lon) * kmPerLon;
+        double y1 = (lat1 - lat) * KM_PER_DEGREE;
+        double dx = (lon2 - lon1) * kmPerLon;
+        double dy = (lat2 - lat1) * KM_PER_DEGREE;
+        double lengthSquared = dx * dx + dy * dy;
+        // Posição, ao longo do segmento, do ponto mais próximo do centro
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, -(x1 * dx + y1 * dy) / lengthSquared));
+        return Math.hypot(x1 + t * dx, y1 + t * dy);
+    }
+
+    /** Meia altura, em graus de latitude, de um círculo de {@code radiusKm}. */
+    public static double latDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    /** Meia largura, em graus de longitude, de um círculo de {@code radiusKm} na latitude dada. */
+    public static double lonDelta(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        return cos < 1e-6 ? 180.0 : Math.min(180.0, radiusKm / (KM_PER_DEGREE * cos));
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.fiap.Ayra.geo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Escreve uma FeatureCollection GeoJSON de pontos diretamente num {@link JsonGenerator},
+ * um Feature por vez, sem montar a coleção em memória.
+ *
+ * As coordenadas são arredondadas para {@code precision} casas decimais (5 casas ≈ 1,1 m
+ * no equador) e escritas sem zeros à direita, o que reduz o tamanho de mapas completos.
+ *
+ * A coleção só é fechada por {@link #finish()}. Se a leitura falhar no meio, {@link #close()}
+ * não completa o JSON: o cliente recebe um documento truncado, e não uma coleção válida
+ * com parte dos Features.
+ */
+public final class GeoJsonWriter implements Closeable {
+
+    public static final int MAX_PRECISION = 7;
+
+    @FunctionalInterface
+    public interface PropertiesWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private final JsonGenerator generator;
+    private final int precision;
+    private final double scale;
+    private long count;
+
+    public GeoJsonWriter(JsonGenerator generator, int precision) throws IOException {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision deve estar entre 0 e " + MAX_PRECISION);
+        }
+        this.generator = generator;
+        this.precision = precision;
+        this.scale = Math.pow(10, precision);
+        // Quem abriu o stream (ex: a resposta HTTP) é quem o fecha
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Sem isso o close() do Jackson fecharia o array e o objeto mesmo após uma falha
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        generator.writeStartObject();
+        generator.writeStringField("type", "FeatureCollection");
+        generator.writeArrayFieldStart("features");
+    }
+
+    public void feature(long id, double latitude, double longitude, PropertiesWriter properties) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "Feature");
+        generator.writeNumberField("id", id);
+        generator.writeObjectFieldStart("geometry");
+        generator.writeStringField("type", "Point");
+        generator.writeArrayFieldStart("coordinates");
+        // GeoJSON usa [longitude, latitude]
+        generator.writeNumber(quantize(longitude));
+        generator.writeNumber(quantize(latitude));
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("properties");
+        properties.write(generator);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        count++;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    private BigDecimal quantize(double value) {
+        return BigDecimal.valueOf(Math.round(value * scale), precision).stripTrailingZeros();
+    }
+
+    /** Fecha o array de Features e a coleção; chamado só depois do último Feature. */
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
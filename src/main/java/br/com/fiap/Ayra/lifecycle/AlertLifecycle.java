@@ -0,0 +1,322 @@
+package br.com.fiap.Ayra.lifecycle;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.Ayra.controller.AlertController.AlertFilter;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.listener.EntityChangedEvent;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.service.ChangeLogRecorder;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import br.com.fiap.Ayra.specification.AlertSpecification;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ciclo de vida dos alertas: conjunto ativo em memória e expiração por roda de tempo.
+ *
+ * <ul>
+ *   <li>os alertas com {@code status = 'active'} ficam em memória, e GET /alert
+ *       filtra, ordena e pagina esse conjunto sem ir ao banco;</li>
+ *   <li>cada alerta ativo tem seu {@code expiresAt} agendado numa {@link TimeWheel};
+ *       quando o prazo vence, o alerta vira {@code expired} no banco (histórico),
+ *       sai do conjunto e a versão da coleção muda;</li>
+ *   <li>escritas de alertas chegam após o commit pelo {@link EntityChangedEvent};
+ *       mudanças em marcadores ou coordenadas, que aparecem embutidos no alerta,
+ *       fazem o conjunto ser recarregado na próxima leitura ou no próximo tick;</li>
+ *   <li>escritas feitas por outras instâncias não geram evento aqui: o conjunto é
+ *       recarregado quando a versão compartilhada dos alertas (que soma marcadores e
+ *       coordenadas, veja {@link CollectionVersions}) difere da vista na última carga.
+ *       A comparação é feita a cada tick e a cada leitura, sem consulta ao banco.</li>
+ * </ul>
+ *
+ * O tamanho do conjunto depende só de quantos alertas estão valendo agora, não do
+ * histórico acumulado.
+ */
+@Service
+@EnableConfigurationProperties(AlertLifecycleProperties.class)
+public class AlertLifecycle {
+
+    public static final String ACTIVE = "active";
+    public static final String EXPIRED = "expired";
+
+    private static final Map<String, Comparator<Alert>> SORTABLE = Map.of(
+            "id", by(Alert::getId),
+            "title", by(Alert::getTitle),
+            "intensity", by(Alert::getIntensity),
+            "alertDatetime", by(Alert::getAlertDatetime),
+            "expiresAt", by(Alert::getExpiresAt),
+            "location", by(Alert::getLocation),
+            "radius", by(Alert::getRadius),
+            "riskRank", by(Alert::getRiskRank));
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final Map<Long, Alert> active = new ConcurrentHashMap<>();
+    // Muda a cada alerta que entra ou sai do conjunto (o rank de risco não conta)
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    private AlertRepository repository;
+
+    @Autowired
+    private ChangeLogRecorder changeLog;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AlertLifecycleProperties properties;
+
+    private TimeWheel wheel;
+    private ScheduledExecutorService ticker;
+    private volatile boolean loaded;
+    private volatile boolean stale;
+    // Versão compartilhada de ALERT lida antes da consulta da última carga
+    private volatile long watermark = -1;
+
+    @PostConstruct
+    void start() {
+        wheel = new TimeWheel(properties.getTick().toMillis(), properties.getWheelSize(), System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("alert-wheel-"));
+        meterRegistry.gaugeMapSize("ayra.alert.active", List.of(), active);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        reload();
+        long tick = properties.getTick().toMillis();
+        ticker.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /** Se GET /alert com esses parâmetros pode ser respondido pelo conjunto em memória. */
+    public boolean serves(AlertFilter filter, Pageable pageable) {
+        if (!loaded || (filter != null && filter.status() != null && !ACTIVE.equals(filter.status()))) {
+            return false;
+        }
+        return pageable.getSort().stream().allMatch(order -> SORTABLE.containsKey(order.getProperty()));
+    }
+
+    public Page<Alert> page(AlertFilter filter, Pageable pageable) {
+        reloadIfBehind();
+
+        List<Alert> matches = active.values().stream()
+                .filter(AlertSpecification.matching(filter))
+                .sorted(comparator(pageable.getSort()))
+                .toList();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches, pageable, matches.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    /** Alertas em vigor, para quem precisa da geometria de todos eles (ex.: rotas de evacuação). */
+    public Collection<Alert> active() {
+        reloadIfBehind();
+        return Collections.unmodifiableCollection(active.values());
+    }
+
+    /**
+     * Alertas em vigor como estão em memória, sem recarregar na thread de quem chama.
+     * Um conjunto desatualizado é recarregado no próximo tick, e a versão muda.
+     */
+    public Collection<Alert> snapshot() {
+        return Collections.unmodifiableCollection(active.values());
+    }
+
+    /** Versão do conjunto de alertas em vigor; muda quando algum alerta entra, sai ou é alterado. */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Aplica aos alertas em memória os ranks recalculados pelo RiskScorer.
+     *
+     * Troca cada alerta por uma cópia com o novo rank, sem alterar a instância: uma
+     * leitura pode estar ordenando ou serializando o conjunto ao mesmo tempo, e o
+     * rank mudando no meio da ordenação quebra o contrato do comparador.
+     */
+    public void updateRisk(Map<Long, Double> ranks) {
+        ranks.forEach((id, rank) -> active.computeIfPresent(id, (key, alert) -> alert.toBuilder().riskRank(rank).build()));
+    }
+
+    // Também antes da primeira carga: ela mescla o que já estiver no mapa em vez de descartar
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.collection() == ResourceCollection.ALERT) {
+            Alert alert = (Alert) event.entity();
+            if (event.operation() != Operation.DELETE && ACTIVE.equals(alert.getStatus()) && alert.getExpiresAt() != null) {
+                track(alert);
+            } else {
+                untrack(event.id());
+            }
+        } else if ((event.collection() == ResourceCollection.MAP_MARKER || event.collection() == ResourceCollection.COORDINATES)
+                && event.operation() != Operation.INSERT) {
+            stale = true;
+        }
+    }
+
+    /** Relê os alertas ativos do banco, depois de expirar os que já venceram. */
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        stale = false;
+        expireDue();
+
+        // Lida antes da consulta: uma escrita confirmada depois dela faz a próxima verificação recarregar
+        long seen = versions.version(ResourceCollection.ALERT);
+        // Alertas que chegarem pelo evento durante a consulta não são descartados
+        Set<Long> previous = new HashSet<>(active.keySet());
+        List<Alert> alerts = repository.findByStatus(ACTIVE);
+        for (Alert alert : alerts) {
+            track(alert);
+            previous.remove(alert.getId());
+        }
+        previous.forEach(this::untrack);
+        watermark = seen;
+        loaded = true;
+
+        log.info("Conjunto de alertas ativos carregado: {} alertas em {} ms", alerts.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // Quem espera uma recarga em andamento não recarrega de novo se ela já cobriu a mudança
+    private void reloadIfBehind() {
+        if (behind()) {
+            synchronized (this) {
+                if (behind()) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private boolean behind() {
+        return loaded && (stale || versions.version(ResourceCollection.ALERT) != watermark);
+    }
+
+    // Um alerta igual ao que já está no conjunto (ex.: numa recarga) não muda a versão nem o prazo
+    private void track(Alert alert) {
+        Alert previous = active.put(alert.getId(), alert);
+        if (previous != null && previous.toBuilder().riskRank(alert.getRiskRank()).build().equals(alert)) {
+            return;
+        }
+        version.incrementAndGet();
+        wheel.schedule(alert.getId(), alert.getExpiresAt().toInstant().toEpochMilli());
+    }
+
+    private void untrack(Long id) {
+        if (active.remove(id) != null) {
+            version.incrementAndGet();
+        }
+        wheel.cancel(id);
+    }
+
+    private void tick() {
+        try {
+            reloadIfBehind();
+            if (!wheel.advance(System.currentTimeMillis()).isEmpty()) {
+                expireDue();
+            }
+        } catch (Exception e) {
+            log.error("Falha ao expirar alertas", e);
+        }
+    }
+
+    /**
+     * Marca como expirados, em lotes, todos os alertas ativos cujo prazo venceu. O
+     * banco decide quem vence: a roda só avisa quando vale a pena perguntar.
+     */
+    private synchronized void expireDue() {
+        int total = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> due = repository.findExpiredIds(ZonedDateTime.now(), PageRequest.ofSize(properties.getBatchSize()));
+                if (!due.isEmpty()) {
+                    repository.expire(due);
+                    changeLog.recordAll(ResourceCollection.ALERT, due, Operation.UPDATE);
+                }
+                return due;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            ids.forEach(this::untrack);
+            total += ids.size();
+            if (ids.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            versions.bump(ResourceCollection.ALERT);
+            meterRegistry.counter("ayra.alert.expired").increment(total);
+            log.info("{} alertas expirados movidos para o histórico", total);
+        }
+    }
+
+    private static Comparator<Alert> comparator(Sort sort) {
+        Comparator<Alert> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Alert> next = SORTABLE.get(order.getProperty());
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        // Desempate pelo id, para que a paginação seja estável
+        return comparator == null ? SORTABLE.get("id") : comparator.thenComparing(SORTABLE.get("id"));
+    }
+
+    // Nulos por último na ordem crescente, como o H2 e o Oracle
+    private static <T extends Comparable<? super T>> Comparator<Alert> by(Function<Alert, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.fiap.Ayra.lifecycle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Validade dos alertas e roda de expiração ({@code ayra.alert.*}), por exemplo
+ * {@code ayra.alert.validity.high=48h}.
+ */
+@Data
+@ConfigurationProperties(prefix = "ayra.alert")
+public class AlertLifecycleProperties {
+
+    // Desligado, /alert volta a consultar o banco e nada expira sozinho
+    private boolean enabled = true;
+
+    // Validade por intensidade, contada a partir de alertDatetime, quando o alerta chega sem expiresAt
+    private Map<String, Duration> validity = new HashMap<>(Map.of(
+            "high", Duration.ofHours(24),
+            "medium", Duration.ofHours(12),
+            "low", Duration.ofHours(6)));
+
+    // Validade de intensidades fora do mapa acima
+    private Duration defaultValidity = Duration.ofHours(12);
+
+    // Resolução da roda: um alerta expira no máximo um tick depois de expiresAt
+    private Duration tick = Duration.ofSeconds(1);
+
+    // Posições da roda; prazos além de tick × wheel-size dão mais de uma volta
+    private int wheelSize = 512;
+
+    // Alertas marcados como expirados por UPDATE
+    private int batchSize = 500;
+
+    public Duration validityOf(String intensity) {
+        return intensity == null ? defaultValidity : validity.getOrDefault(intensity, defaultValidity);
+    }
+}
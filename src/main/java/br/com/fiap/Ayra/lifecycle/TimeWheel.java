@@ -0,0 +1,74 @@
+package br.com.fiap.Ayra.lifecycle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roda de tempo com hash (hashed timing wheel) para os prazos dos alertas.
+ *
+ * Cada prazo cai na posição {@code tick % tamanho}; agendar e cancelar custam O(1)
+ * e cada tick só visita uma posição, não importa quantos alertas estejam ativos.
+ * Prazos além de uma volta ficam na posição e são ignorados até a volta certa.
+ * O cancelamento é preguiçoso: reagendar só troca o prazo vigente do alerta, e a
+ * entrada antiga é descartada quando a roda passa por ela.
+ */
+class TimeWheel {
+
+    private record Entry(Long id, long deadline) {}
+
+    private final long tickMillis;
+    private final List<List<Entry>> buckets;
+    private final Map<Long, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    TimeWheel(long tickMillis, int size, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /** Agenda (ou reagenda) o alerta; prazos já vencidos saem no próximo tick. */
+    synchronized void schedule(Long id, long deadlineMillis) {
+        long deadline = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        deadlines.put(id, deadline);
+        buckets.get((int) (deadline % buckets.size())).add(new Entry(id, deadline));
+    }
+
+    synchronized void cancel(Long id) {
+        deadlines.remove(id);
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    /** Avança até {@code nowMillis} e devolve os alertas cujo prazo venceu. */
+    synchronized List<Long> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<Long> expired = new ArrayList<>();
+        // Depois de uma pausa longa basta uma volta: todas as posições são visitadas
+        long from = Math.max(currentTick + 1, target - buckets.size() + 1);
+        for (long tick = from; tick <= target; tick++) {
+            Iterator<Entry> entries = buckets.get((int) (tick % buckets.size())).iterator();
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                Long current = deadlines.get(entry.id());
+                if (current == null || current != entry.deadline()) {
+                    entries.remove();
+                } else if (entry.deadline() <= target) {
+                    entries.remove();
+                    deadlines.remove(entry.id());
+                    expired.add(entry.id());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, target);
+        return expired;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.fiap.Ayra.limit;
+
+/**
+ * Limite de concorrência que se ajusta pela latência observada (estilo gradiente).
+ *
+ * A referência é uma média móvel longa (~{@code longWindow} amostras) do tempo de
+ * resposta; a latência recente é uma média móvel das últimas ~10. Quando a recente
+ * passa da referência vezes a {@code tolerance}, o banco ou a CPU estão enfileirando
+ * e o limite cai na proporção (gradiente entre 0,5 e 1). Com a latência normal, o
+ * limite cresce aos poucos (raiz do limite por ajuste) até {@code max}. Erros 5xx
+ * reduzem o limite em 10% (diminuição multiplicativa).
+ *
+ * A referência não é o mínimo da janela: a variação normal das respostas deixaria a
+ * média recente sempre acima de {@code tolerance} vezes o mínimo, e o limite cairia
+ * até perto do mínimo sem fila nenhuma. Uma fila que surge é vista antes de a média
+ * longa se mover; se a latência alta persistir por várias janelas longas, ela vira a
+ * nova referência e o limite volta a subir até {@code max}. Depois de uma fila longa,
+ * a referência fica alta; enquanto ela passar do dobro da recente, decai 5% por amostra.
+ */
+final class AdaptiveLimiter {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_DECAY = 0.95;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final int min;
+    private final int max;
+    private final double tolerance;
+    private final double longAlpha;
+
+    private double limit;
+    private int inFlight;
+    private double shortRtt;
+    private double longRtt;
+    private long lastRejectedNanos;
+
+    AdaptiveLimiter(int initial, int min, int max, double tolerance, int longWindow) {
+        this.min = min;
+        this.max = max;
+        this.tolerance = tolerance;
+        this.longAlpha = 2.0 / (longWindow + 1);
+        this.limit = Math.max(min, Math.min(max, initial));
+    }
+
+    /** Tenta ocupar uma vaga; {@code cap} reduz o limite (ex: quando o grupo crítico está saturado). */
+    synchronized boolean tryAcquire(int cap) {
+        if (inFlight >= Math.min(cap, (int) limit)) {
+            lastRejectedNanos = System.nanoTime();
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    synchronized void release(long rttNanos, boolean dropped) {
+        inFlight--;
+        if (dropped) {
+            limit = Math.max(min, limit * BACKOFF);
+            return;
+        }
+
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt + SHORT_ALPHA * (rttNanos - shortRtt);
+        longRtt = longRtt == 0 ? rttNanos : longRtt + longAlpha * (rttNanos - longRtt);
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= LONG_DECAY;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        // Só cresce se o limite atual estiver sendo usado; ociosidade não prova capacidade
+        if (target > limit && inFlight < limit / 2) {
+            return;
+        }
+        limit = Math.max(min, Math.min(max, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    /** Devolve a vaga sem amostra de latência (resposta que não representa o custo do grupo). */
+    synchronized void release() {
+        inFlight--;
+    }
+
+    /** No limite agora ou rejeitou alguém no último {@code windowNanos}. */
+    synchronized boolean saturated(long windowNanos) {
+        return inFlight >= (int) limit || System.nanoTime() - lastRejectedNanos < windowNanos;
+    }
+
+    int min() {
+        return min;
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+}
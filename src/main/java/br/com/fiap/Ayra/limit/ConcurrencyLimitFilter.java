@@ -0,0 +1,148 @@
+package br.com.fiap.Ayra.limit;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+import br.com.fiap.Ayra.config.ResponseCacheFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Descarta requisições em excesso com 503 + Retry-After antes que elas ocupem
+ * threads do Tomcat esperando um banco lento.
+ *
+ * Cada {@link EndpointGroup} tem um {@link AdaptiveLimiter} que aprende, pela latência,
+ * quantas requisições simultâneas o grupo aguenta. Enquanto as leituras ({@code READS}
+ * ou {@code CACHED_READS}) estão saturadas, login, escritas, gestão de usuários e
+ * GeoJSON ficam no limite mínimo, para que a capacidade vá para quem está consultando
+ * alertas. Roda antes da segurança para que a rejeição custe quase nada.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final Map<EndpointGroup, AdaptiveLimiter> limiters = new EnumMap<>(EndpointGroup.class);
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ResponseCacheFilter responseCache;
+
+    // O CORS é configurado no Spring MVC (CorsConfig); sem ele o navegador não lê o 503
+    @Autowired
+    private HandlerMappingIntrospector introspector;
+
+    @PostConstruct
+    void start() {
+        for (EndpointGroup group : EndpointGroup.values()) {
+            ConcurrencyLimitProperties.Group config = properties.getGroups()
+                    .getOrDefault(group, new ConcurrencyLimitProperties.Group(10, 1, 100));
+            AdaptiveLimiter limiter = new AdaptiveLimiter(config.getInitial(), config.getMin(), config.getMax(),
+                    properties.getTolerance(), properties.getLongWindow());
+            limiters.put(group, limiter);
+            String tag = group.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("ayra.limit.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Limite atual de requisições simultâneas")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Gauge.builder("ayra.limit.in-flight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Requisições em andamento")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Ter ou não grupo não depende do cache; a busca fica para doFilterInternal
+        return !properties.isEnabled() || EndpointGroup.of(request, r -> false) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request, responseCache::hit);
+        AdaptiveLimiter limiter = limiters.get(group);
+        if (!limiter.tryAcquire(capFor(group, limiter))) {
+            reject(group, limiter, request, response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean dropped = true;
+        boolean notModified = false;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+            notModified = response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED;
+        } finally {
+            // Um 304 do controller não consultou o banco: fora da latência aprendida por READS
+            if (group == EndpointGroup.READS && notModified) {
+                limiter.release();
+            } else {
+                limiter.release(System.nanoTime() - started, dropped);
+            }
+        }
+    }
+
+    int capFor(EndpointGroup group, AdaptiveLimiter limiter) {
+        if (group.isRead()) {
+            return Integer.MAX_VALUE;
+        }
+        long brownout = TimeUnit.MILLISECONDS.toNanos(properties.getBrownoutMs());
+        if (limiters.get(EndpointGroup.READS).saturated(brownout) || limiters.get(EndpointGroup.CACHED_READS).saturated(brownout)) {
+            return limiter.min();
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    AdaptiveLimiter limiter(EndpointGroup group) {
+        return limiters.get(group);
+    }
+
+    private void reject(EndpointGroup group, AdaptiveLimiter limiter, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        meterRegistry.counter("ayra.limit.rejected", "group", group.name().toLowerCase(Locale.ROOT)).increment();
+        log.debug("{} {} descartada: {} de {} em andamento no grupo {}", request.getMethod(), request.getRequestURI(),
+                limiter.inFlight(), limiter.limit(), group);
+
+        CorsConfiguration cors = introspector.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":503,\"error\":\"Service Unavailable\",\"message\":\"Servidor sobrecarregado, tente novamente\"}");
+    }
+}
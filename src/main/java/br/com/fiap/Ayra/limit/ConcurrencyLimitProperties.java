@@ -0,0 +1,55 @@
+package br.com.fiap.Ayra.limit;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Limites adaptativos por grupo de endpoints ({@code ayra.limit.*}), por exemplo
+ * {@code ayra.limit.groups.reads.max=400}.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "ayra.limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Valor de Retry-After nas respostas 503
+    private int retryAfterSeconds = 1;
+
+    // Quantas vezes a latência recente pode passar da referência antes de o limite cair
+    private double tolerance = 2.0;
+
+    // Respostas na média móvel da latência de referência; a mudança de custo que dura
+    // mais que isso deixa de ser tratada como fila
+    @Min(100)
+    private int longWindow = 10_000;
+
+    // Por quanto tempo uma rejeição em READS mantém os outros grupos no mínimo
+    private long brownoutMs = 1000;
+
+    private Map<EndpointGroup, Group> groups = new EnumMap<>(Map.of(
+            EndpointGroup.READS, new Group(20, 4, 200),
+            EndpointGroup.CACHED_READS, new Group(50, 10, 500),
+            EndpointGroup.STREAMS, new Group(4, 1, 16),
+            EndpointGroup.WRITES, new Group(10, 2, 50),
+            EndpointGroup.AUTH, new Group(4, 1, 20),
+            EndpointGroup.USERS, new Group(4, 1, 20)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+        private int initial;
+        private int min;
+        private int max;
+    }
+}
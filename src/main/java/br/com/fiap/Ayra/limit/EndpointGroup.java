@@ -0,0 +1,70 @@
+package br.com.fiap.Ayra.limit;
+
+import java.util.function.Predicate;
+
+import br.com.fiap.Ayra.config.ResponseCacheFilter;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Grupos de endpoints com limite de concorrência próprio. {@link #READS} e
+ * {@link #CACHED_READS} são os grupos críticos: enquanto um deles está saturado, os
+ * demais ficam no limite mínimo para deixar o banco para as leituras de alertas e mapas.
+ *
+ * Leituras de custos muito diferentes ficam em grupos separados, porque cada grupo
+ * aprende o limite pela latência das suas respostas: acertos de cache e 304 levam
+ * microssegundos, e um GeoJSON pode levar segundos.
+ */
+public enum EndpointGroup {
+
+    /** GET de alertas, marcadores, coordenadas, locais/rotas/dicas seguras e /sync. */
+    READS,
+    /**
+     * GET com a resposta guardada no {@link ResponseCacheFilter} (acerto, inclusive um 304
+     * do cache). Um GET condicional que não é acerto fica em {@link #READS}.
+     */
+    CACHED_READS,
+    /** GET dos GeoJSON ({@code /alert.geojson}, {@code /map-marker.geojson}), escritos em streaming. */
+    STREAMS,
+    /** POST/PUT/DELETE fora de usuários (ex: criar marcador). */
+    WRITES,
+    /** POST /login (bcrypt). */
+    AUTH,
+    /** Cadastro e gestão de usuários (/users/**). */
+    USERS;
+
+    /** Grupo crítico, nunca rebaixado pela saturação de outro. */
+    public boolean isRead() {
+        return this == READS || this == CACHED_READS;
+    }
+
+    /**
+     * Grupo da requisição, ou {@code null} para rotas sem limite (actuator, WebSocket, docs).
+     *
+     * @param cached Se o {@link ResponseCacheFilter} tem a resposta guardada; só é
+     *               consultado para GET fora dos GeoJSON.
+     */
+    public static EndpointGroup of(HttpServletRequest request, Predicate<HttpServletRequest> cached) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method) || path.startsWith("/actuator") || path.startsWith("/ws")
+                || path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") || path.equals("/error")) {
+            return null;
+        }
+        if (path.equals("/login")) {
+            return AUTH;
+        }
+        if (path.equals("/users") || path.startsWith("/users/")) {
+            return USERS;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITES;
+        }
+        if (path.endsWith(".geojson")) {
+            return STREAMS;
+        }
+        if (cached.test(request)) {
+            return CACHED_READS;
+        }
+        return READS;
+    }
+}
@@ -1,15 +1,21 @@
 package br.com.fiap.Ayra.model;
 
+import br.com.fiap.Ayra.model.listener.AlertRiskListener;
+import br.com.fiap.Ayra.model.listener.AlertValidityListener;
+import br.com.fiap.Ayra.model.listener.CollectionChangeListener;
+import br.com.fiap.Ayra.risk.RiskScore;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.ZonedDateTime;
 
 @Entity
+@EntityListeners({ AlertValidityListener.class, AlertRiskListener.class, CollectionChangeListener.class })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Table(name = "alert")
 public class Alert {
 
@@ -31,6 +37,18 @@ public class Alert {
     @Column(name = "alert_datetime", nullable = false)
     private ZonedDateTime alertDatetime;
 
+    // Sem valor, o AlertValidityListener usa alertDatetime + a validade da intensidade
+    @Column(name = "expires_at", nullable = false)
+    private ZonedDateTime expiresAt;
+
+    @Column(name = "status", nullable = false)
+    private String status; // active, expired
+
+    // Ordena como riskScore, mas não depende do momento da leitura (veja RiskScore)
+    @JsonIgnore
+    @Column(name = "risk_rank")
+    private Double riskRank;
+
     @Column(name = "location", nullable = false)
     private String location;
 
@@ -44,4 +62,12 @@ public class Alert {
     @OneToOne
     @JoinColumn(name = "id_map", referencedColumnName = "id_maker", nullable = false)
     private MapMarker mapMarker;
-}
\ No newline at end of file
+
+    /**
+     * Pontuação de risco no início do passo atual (RiskScore.STEP_MILLIS); cai pela
+     * metade a cada RiskScore.HALF_LIFE_HOURS.
+     */
+    public Double getRiskScore() {
+        return riskRank == null ? null : RiskScore.score(riskRank, RiskScore.stepStart(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Linha única que o {@code ArchiveService} trava com {@code for update} em cada lote,
+ * o que impede duas instâncias de arquivar ao mesmo tempo.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "archive_lock")
+public class ArchiveLock {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+}
@@ -0,0 +1,83 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * Alerta expirado movido para o arquivo pelo ArchiveService. Mantém o id original
+ * e copia as coordenadas, para que a linha em coordinates também possa ser arquivada.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "alert_archive")
+public class ArchivedAlert {
+
+    @Id
+    @Column(name = "id_alert")
+    private Long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Lob
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "intensity", nullable = false)
+    private String intensity;
+
+    @Column(name = "alert_datetime", nullable = false)
+    private ZonedDateTime alertDatetime;
+
+    @Column(name = "expires_at", nullable = false)
+    private ZonedDateTime expiresAt;
+
+    @Column(name = "location", nullable = false)
+    private String location;
+
+    @Column(name = "radius", nullable = false)
+    private Double radius;
+
+    @Column(name = "coordinates_id", nullable = false)
+    private Long coordinatesId;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "date_coordinate", nullable = false)
+    private LocalDate dateCoordinate;
+
+    @ManyToOne
+    @JoinColumn(name = "id_map", referencedColumnName = "id_maker", nullable = false)
+    private MapMarker mapMarker;
+
+    @Column(name = "archived_at", nullable = false)
+    private ZonedDateTime archivedAt;
+
+    /** O alerta no mesmo formato das listagens de /alert. */
+    public Alert toAlert() {
+        return Alert.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .intensity(intensity)
+                .alertDatetime(alertDatetime)
+                .expiresAt(expiresAt)
+                .status("expired")
+                .location(location)
+                .radius(radius)
+                .coordinates(Coordinates.builder().id(coordinatesId).latitude(latitude).longitude(longitude)
+                        .dateCoordinate(dateCoordinate).build())
+                .mapMarker(mapMarker)
+                .build();
+    }
+}
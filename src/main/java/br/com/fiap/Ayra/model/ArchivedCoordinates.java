@@ -0,0 +1,39 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * Coordenada antiga, sem referências, movida para o arquivo pelo ArchiveService.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "coordinates_archive")
+public class ArchivedCoordinates {
+
+    @Id
+    @Column(name = "id_cor")
+    private Long id;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "date_coordinate", nullable = false)
+    private LocalDate dateCoordinate;
+
+    @Column(name = "archived_at", nullable = false)
+    private ZonedDateTime archivedAt;
+
+    public Coordinates toCoordinates() {
+        return Coordinates.builder().id(id).latitude(latitude).longitude(longitude).dateCoordinate(dateCoordinate).build();
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Rota, local ou dica de um alerta arquivado. As três tabelas vão para uma só,
+ * distinguidas por {@code kind}; o arquivo não é lido pela API.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "safe_item_archive")
+public class ArchivedSafeItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_archive")
+    private Long id;
+
+    @Column(name = "kind", nullable = false)
+    private String kind; // route, location, tip
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "content", nullable = false)
+    private String content;
+
+    @Column(name = "alert_id_alert", nullable = false)
+    private Long alertId;
+
+    @Column(name = "archived_at", nullable = false)
+    private ZonedDateTime archivedAt;
+}
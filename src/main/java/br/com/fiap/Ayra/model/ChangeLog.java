@@ -0,0 +1,40 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "change_log")
+public class ChangeLog {
+
+    public enum Operation { INSERT, UPDATE, DELETE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_change")
+    private Long id;
+
+    // Versão monotônica usada pelos clientes em /sync?since=. Nula até o commit da
+    // escrita: o ChangeLogStamper numera as entradas na ordem em que ficam visíveis.
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "entity", nullable = false)
+    private String entity; // ALERT, MAP_MARKER, SAFE_ROUTES, SAFE_LOCATION, SAFE_TIP
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private ZonedDateTime changedAt;
+}
@@ -0,0 +1,23 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Linha única com a última versão atribuída ao change_log. O {@code ChangeLogStamper}
+ * a trava com {@code for update}, o que serializa a numeração entre instâncias.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "change_log_counter")
+public class ChangeLogCounter {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_version", nullable = false)
+    private Long lastVersion;
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.Ayra.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Versão de uma coleção da API, compartilhada entre as instâncias. O
+ * {@code CollectionVersions} a incrementa depois de cada commit e a lê com um cache
+ * curto para montar ETags e chaves de cache.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "collection_version")
+public class CollectionVersion {
+
+    @Id
+    @Column(name = "collection", length = 20)
+    private String collection;
+
+    // Começa no instante da criação da linha (ms): um banco recriado não repete versões antigas
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "last_modified", nullable = false)
+    private Long lastModified;
+}
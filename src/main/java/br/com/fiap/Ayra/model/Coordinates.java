@@ -1,5 +1,6 @@
 package br.com.fiap.Ayra.model;
 
+import br.com.fiap.Ayra.model.listener.CollectionChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(CollectionChangeListener.class)
 @Data // Gera getters, setters, equals, hashCode e toString
 @Builder // Habilita o padrão Builder
 @NoArgsConstructor // Gera um construtor sem argumentos
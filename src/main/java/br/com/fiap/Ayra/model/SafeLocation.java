@@ -1,9 +1,11 @@
 package br.com.fiap.Ayra.model;
 
+import br.com.fiap.Ayra.model.listener.CollectionChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(CollectionChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,6 +21,13 @@ public class SafeLocation {
     @Column(name = "location", nullable = false)
     private String location;
 
+    // Opcionais: só locais com posição servem de destino para as rotas de evacuação
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @ManyToOne
     @JoinColumn(name = "alert_id_alert", referencedColumnName = "id_alert", nullable = false)
     private Alert alert;
@@ -1,9 +1,11 @@
 package br.com.fiap.Ayra.model;
 
+import br.com.fiap.Ayra.model.listener.CollectionChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(CollectionChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,6 +6,7 @@ import java.util.Collections;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import br.com.fiap.Ayra.model.listener.CollectionChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -16,6 +17,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(CollectionChangeListener.class)
 @Data // Gera getters, setters, equals, hashCode e toString
 @Builder // Habilita o padrão Builder
 @NoArgsConstructor // Gera um construtor sem argumentos
@@ -0,0 +1,7 @@
+package br.com.fiap.Ayra.model.dto;
+
+import java.time.ZonedDateTime;
+
+/** Linha lida para cada alerta de /alert.geojson: só as colunas do Feature, sem a descrição. */
+public record AlertFeature(Long id, String title, String intensity, ZonedDateTime alertDatetime,
+        String location, Double radius, Long mapMarkerId, Double latitude, Double longitude) {}
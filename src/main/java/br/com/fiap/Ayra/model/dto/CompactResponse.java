@@ -0,0 +1,40 @@
+package br.com.fiap.Ayra.model.dto;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.web.PagedModel.PageMetadata;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import br.com.fiap.Ayra.model.Coordinates;
+
+/**
+ * Resposta compacta ({@code ?view=compact}): os itens de {@code content} referenciam
+ * alertas, marcadores e coordenadas por ID, e cada entidade referenciada aparece uma
+ * única vez em {@code included}, indexada pelo ID. {@code page} só existe nas
+ * listagens paginadas.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompactResponse<T>(List<T> content, Included included, PageMetadata page) {
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record Included(
+            Map<Long, AlertItem> alerts,
+            Map<Long, MapMarkerItem> mapMarkers,
+            Map<Long, Coordinates> coordinates) {}
+
+    public record AlertItem(Long id, String title, String description, String intensity,
+            ZonedDateTime alertDatetime, ZonedDateTime expiresAt, String status, Double riskScore,
+            String location, Double radius, Long coordinatesId, Long mapMarkerId) {}
+
+    public record MapMarkerItem(Long id, String title, String description, String intensity,
+            Double radius, Long coordinatesId) {}
+
+    public record SafeRoutesItem(Long id, String route, Long alertId) {}
+
+    public record SafeLocationItem(Long id, String location, Double latitude, Double longitude, Long alertId) {}
+
+    public record SafeTipItem(Long id, String tip, Long alertId) {}
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.Ayra.model.dto;
+
+import java.util.List;
+
+/**
+ * Rota calculada de GET /safe-routes/evacuation: do nó viário mais próximo da origem
+ * até o local seguro alcançável com menor custo. {@code dangerKm} é o trecho dentro
+ * do raio de alertas em vigor.
+ */
+public record EvacuationRoute(Long safeLocationId, String location, double distanceKm, double dangerKm,
+        List<Waypoint> path) {
+
+    public record Waypoint(double latitude, double longitude) {}
+}
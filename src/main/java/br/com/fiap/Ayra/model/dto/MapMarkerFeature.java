@@ -0,0 +1,5 @@
+package br.com.fiap.Ayra.model.dto;
+
+/** Linha lida para cada marcador de /map-marker.geojson: só as colunas do Feature, sem a descrição. */
+public record MapMarkerFeature(Long id, String title, String intensity, Double radius,
+        Double latitude, Double longitude) {}
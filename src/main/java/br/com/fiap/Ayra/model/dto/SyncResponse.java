@@ -0,0 +1,25 @@
+package br.com.fiap.Ayra.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.SafeRoutes;
+import br.com.fiap.Ayra.model.SafeTip;
+
+/**
+ * Alterações desde a versão informada pelo cliente. {@code version} deve ser
+ * enviado como {@code since} na próxima sincronização; {@code hasMore} indica
+ * que o limite foi atingido e há mais alterações a buscar.
+ */
+public record SyncResponse(
+        long version,
+        boolean hasMore,
+        List<Alert> alerts,
+        List<MapMarker> mapMarkers,
+        List<SafeRoutes> safeRoutes,
+        List<SafeLocation> safeLocations,
+        List<SafeTip> safeTips,
+        Map<String, List<Long>> deleted) {}
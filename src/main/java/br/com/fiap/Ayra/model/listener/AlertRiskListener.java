@@ -0,0 +1,37 @@
+package br.com.fiap.Ayra.model.listener;
+
+import java.util.Objects;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.risk.MarkerDensity;
+import br.com.fiap.Ayra.risk.RiskScore;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Calcula o {@code risk_rank} do alerta antes de cada INSERT e UPDATE, com a
+ * densidade de marcadores da grade em memória, para que ele vá no mesmo comando.
+ *
+ * Assim como o {@link CollectionChangeListener}, recebe as dependências pelo
+ * construtor porque é criado pelo Hibernate através do container do Spring, e não
+ * tem construtor sem argumentos.
+ */
+public class AlertRiskListener {
+
+    private final MarkerDensity density;
+
+    public AlertRiskListener(MarkerDensity density) {
+        this.density = Objects.requireNonNull(density, "density");
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void score(Alert alert) {
+        if (alert.getAlertDatetime() == null || alert.getCoordinates() == null
+                || alert.getCoordinates().getLatitude() == null || alert.getCoordinates().getLongitude() == null) {
+            return;
+        }
+        int nearby = density.around(alert.getCoordinates().getLatitude(), alert.getCoordinates().getLongitude());
+        alert.setRiskRank(RiskScore.rank(alert.getIntensity(), alert.getRadius(), nearby, alert.getAlertDatetime()));
+    }
+}
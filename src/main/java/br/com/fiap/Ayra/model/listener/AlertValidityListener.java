@@ -0,0 +1,34 @@
+package br.com.fiap.Ayra.model.listener;
+
+import java.util.Objects;
+
+import br.com.fiap.Ayra.lifecycle.AlertLifecycleProperties;
+import br.com.fiap.Ayra.model.Alert;
+import jakarta.persistence.PrePersist;
+
+/**
+ * Preenche a janela de validade dos alertas criados sem {@code expiresAt}:
+ * {@code alertDatetime} mais a validade configurada para a intensidade.
+ *
+ * Assim como o {@link CollectionChangeListener}, recebe as dependências pelo
+ * construtor porque é criado pelo Hibernate através do container do Spring, e não
+ * tem construtor sem argumentos.
+ */
+public class AlertValidityListener {
+
+    private final AlertLifecycleProperties properties;
+
+    public AlertValidityListener(AlertLifecycleProperties properties) {
+        this.properties = Objects.requireNonNull(properties, "properties");
+    }
+
+    @PrePersist
+    public void onInsert(Alert alert) {
+        if (alert.getStatus() == null) {
+            alert.setStatus("active");
+        }
+        if (alert.getExpiresAt() == null && alert.getAlertDatetime() != null) {
+            alert.setExpiresAt(alert.getAlertDatetime().plus(properties.validityOf(alert.getIntensity())));
+        }
+    }
+}
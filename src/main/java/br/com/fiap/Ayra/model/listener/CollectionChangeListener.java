@@ -0,0 +1,114 @@
+package br.com.fiap.Ayra.model.listener;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.SafeRoutes;
+import br.com.fiap.Ayra.model.SafeTip;
+import br.com.fiap.Ayra.model.User;
+import br.com.fiap.Ayra.service.ChangeLogRecorder;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA que registra cada escrita das entidades da API.
+ *
+ * A versão da coleção só é incrementada após o commit, uma vez por coleção e
+ * transação: se fosse feito no flush, uma leitura concorrente poderia marcar dados
+ * antigos com a versão nova. Já a
+ * entrada do change_log é gravada na própria transação da escrita, e um
+ * {@link EntityChangedEvent} é publicado para os demais interessados.
+ *
+ * As dependências chegam pelo construtor: o Hibernate cria o listener pelo
+ * container do Spring, e no modo AOT só a injeção por construtor é aplicada a
+ * objetos criados dessa forma. Não há construtor sem argumentos: com ele, o Spring
+ * o escolheria e as escritas deixariam de ser registradas sem nenhum erro.
+ */
+public class CollectionChangeListener {
+
+    private final CollectionVersions versions;
+    private final ChangeLogRecorder changeLog;
+    private final ApplicationEventPublisher publisher;
+
+    public CollectionChangeListener(CollectionVersions versions, ChangeLogRecorder changeLog, ApplicationEventPublisher publisher) {
+        this.versions = Objects.requireNonNull(versions, "versions");
+        this.changeLog = Objects.requireNonNull(changeLog, "changeLog");
+        this.publisher = Objects.requireNonNull(publisher, "publisher");
+    }
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        onChange(entity, Operation.INSERT);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        onChange(entity, Operation.UPDATE);
+    }
+
+    @PostRemove
+    public void onDelete(Object entity) {
+        onChange(entity, Operation.DELETE);
+    }
+
+    private void onChange(Object entity, Operation operation) {
+        ResourceCollection collection = ResourceCollection.of(entity);
+        if (collection == null) {
+            return;
+        }
+
+        Long id = idOf(entity);
+        changeLog.record(collection, id, operation);
+        publisher.publishEvent(new EntityChangedEvent(collection, id, operation, entity));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.bump(collection);
+            return;
+        }
+        // Um incremento por coleção e transação, não importa quantas linhas ela gravou
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(BumpAfterCommit.class::isInstance)
+                .map(BumpAfterCommit.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    BumpAfterCommit bump = new BumpAfterCommit();
+                    TransactionSynchronizationManager.registerSynchronization(bump);
+                    return bump;
+                })
+                .collections.add(collection);
+    }
+
+    private final class BumpAfterCommit implements TransactionSynchronization {
+
+        private final Set<ResourceCollection> collections = EnumSet.noneOf(ResourceCollection.class);
+
+        @Override
+        public void afterCommit() {
+            collections.forEach(versions::bump);
+        }
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof Alert alert) return alert.getId();
+        if (entity instanceof MapMarker marker) return marker.getId();
+        if (entity instanceof Coordinates coordinates) return coordinates.getId();
+        if (entity instanceof SafeRoutes route) return route.getId();
+        if (entity instanceof SafeLocation location) return location.getId();
+        if (entity instanceof SafeTip tip) return tip.getId();
+        if (entity instanceof User user) return user.getId();
+        return null;
+    }
+}
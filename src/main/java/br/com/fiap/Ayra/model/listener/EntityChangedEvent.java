@@ -0,0 +1,10 @@
+package br.com.fiap.Ayra.model.listener;
+
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.service.ResourceCollection;
+
+/**
+ * Evento publicado a cada escrita de uma entidade da API, ainda dentro da
+ * transação. Use {@code @TransactionalEventListener} para reagir só após o commit.
+ */
+public record EntityChangedEvent(ResourceCollection collection, Long id, Operation operation, Object entity) {}
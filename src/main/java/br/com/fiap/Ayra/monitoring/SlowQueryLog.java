@@ -0,0 +1,116 @@
+package br.com.fiap.Ayra.monitoring;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Log estruturado de consultas lentas, no lugar do show-sql e do TRACE de binds.
+ *
+ * Toda execução é somada ao formato ("shape") do seu SQL: literais e listas IN viram
+ * {@code ?}, então o limite {@code max-shapes} conta formatos, não textos distintos.
+ * Só as que passam de {@code slow-threshold-ms} são logadas, por amostragem
+ * ({@code slow-sample-rate}), no logger {@code ayra.sql.slow}, que usa um appender
+ * assíncrono. Os valores dos parâmetros e dos literais nunca são registrados.
+ */
+@Component
+public class SlowQueryLog {
+
+    public record Shape(String sql, long count, double totalMs, double meanMs, double maxMs) {}
+
+    private static final class Aggregate {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+    }
+
+    // Literais de texto e numéricos (ex.: SQL montado com valores embutidos)
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?\\b");
+    // Listas IN de tamanho variável (ex.: carga em lote) viram um único formato
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Logger log = LoggerFactory.getLogger("ayra.sql.slow");
+    private final Map<String, Aggregate> statements = new ConcurrentHashMap<>();
+
+    @Value("${ayra.sql.slow-threshold-ms:100}")
+    private long thresholdMillis;
+
+    @Value("${ayra.sql.slow-sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${ayra.sql.max-shapes:500}")
+    private int maxShapes;
+
+    void record(String sql, long nanos) {
+        if (sql == null) {
+            return;
+        }
+
+        String shape = shapeOf(sql);
+        Aggregate aggregate = statements.get(shape);
+        if (aggregate == null && statements.size() < maxShapes) {
+            aggregate = statements.computeIfAbsent(shape, s -> new Aggregate());
+        }
+        if (aggregate != null) {
+            aggregate.count.increment();
+            aggregate.totalNanos.add(nanos);
+            aggregate.maxNanos.accumulate(nanos);
+        }
+
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(thresholdMillis) && sampled()) {
+            double millis = nanos / 1_000_000.0;
+            log.atWarn()
+                    .addKeyValue("durationMs", millis)
+                    .addKeyValue("thresholdMs", thresholdMillis)
+                    .addKeyValue("sql", shape)
+                    .log("Consulta lenta ({} ms): {}", String.format("%.1f", millis), shape);
+        }
+    }
+
+    /**
+     * Formatos de SQL mais lentos, pelo maior tempo observado.
+     *
+     * @param limit Quantidade de formatos retornados.
+     */
+    public List<Shape> top(int limit) {
+        return statements.entrySet().stream()
+                .map(e -> {
+                    Aggregate a = e.getValue();
+                    long count = a.count.sum();
+                    double totalMs = a.totalNanos.sum() / 1_000_000.0;
+                    return new Shape(e.getKey(), count, totalMs, count == 0 ? 0 : totalMs / count, a.maxNanos.get() / 1_000_000.0);
+                })
+                .filter(shape -> shape.count() > 0)
+                .sorted(Comparator.comparingDouble(Shape::maxMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql.trim()).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?, ...)");
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.fiap.Ayra.monitoring;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conta os comandos SQL e o tempo de banco de cada requisição.
+ *
+ * O grafo eager de {@code Alert}, {@code MapMarker} e {@code Safe*} facilita
+ * regressões N+1; este filtro publica as métricas {@code ayra.sql.statements} e
+ * {@code ayra.sql.time} por rota e avisa quando uma rota passa do orçamento
+ * configurado em {@link SqlBudgetProperties}. Em modo estrito o estouro vira erro.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private SqlBudgetProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+        }
+
+        if (stats.statements() == 0) {
+            return;
+        }
+
+        String route = routeOf(request);
+        DistributionSummary.builder("ayra.sql.statements")
+                .description("Comandos SQL executados por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("ayra.sql.time")
+                .description("Tempo de execução SQL por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        check(request, stats);
+    }
+
+    /**
+     * Verifica o orçamento da rota. Chamado também antes de escrever o corpo da
+     * resposta, para que em modo estrito o cliente receba o erro.
+     */
+    void check(HttpServletRequest request, SqlRequestStats stats) {
+        int budget = properties.budgetFor(patternOf(request));
+        if (stats.statements() <= budget || !stats.markReported()) {
+            return;
+        }
+
+        String message = String.format("%s %s executou %d comandos SQL (orçamento %d, %.1f ms); possível N+1",
+                request.getMethod(), routeOf(request), stats.statements(), budget, stats.millis());
+        if (properties.isStrict()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private static String patternOf(HttpServletRequest request) {
+        return (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    }
+
+    // Usa o padrão da rota (ex.: /map-marker/{id}) para não criar uma série por ID
+    private static String routeOf(HttpServletRequest request) {
+        String pattern = patternOf(request);
+        return pattern != null ? pattern : "UNKNOWN";
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.fiap.Ayra.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Orçamento de comandos SQL por endpoint ({@code ayra.sql.*}).
+ *
+ * As chaves de {@code budgets} são os padrões de rota do Spring MVC, por exemplo
+ * {@code ayra.sql.budgets[/map-marker/{id}]=2}. Rotas sem entrada usam
+ * {@code default-budget}.
+ */
+@Data
+@ConfigurationProperties(prefix = "ayra.sql")
+public class SqlBudgetProperties {
+
+    private int defaultBudget = 10;
+
+    // Em modo estrito (testes) estourar o orçamento gera erro em vez de apenas um aviso
+    private boolean strict = false;
+
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    public int budgetFor(String pattern) {
+        if (pattern == null) {
+            return defaultBudget;
+        }
+        return budgets.getOrDefault(pattern, defaultBudget);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.fiap.Ayra.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlMonitoringConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer sqlMonitoringCustomizer(SlowQueryLog slowQueryLog) {
+        SqlTimingListener.setSlowQueryLog(slowQueryLog);
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+}
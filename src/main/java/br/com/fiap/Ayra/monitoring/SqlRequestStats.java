@@ -0,0 +1,62 @@
+package br.com.fiap.Ayra.monitoring;
+
+/**
+ * Contadores de SQL da requisição HTTP em andamento.
+ *
+ * Vive em um ThreadLocal aberto pelo {@link SqlBudgetFilter}: o Hibernate executa as
+ * consultas na mesma thread da requisição, então o inspetor e o listener de sessão
+ * só precisam incrementar a instância corrente. Fora de uma requisição (seeder,
+ * tarefas agendadas, notificações) não há instância e nada é contado.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private boolean reported;
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void executed(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+
+    // Marca que o estouro do orçamento já foi reportado, para não repetir o aviso
+    boolean markReported() {
+        boolean first = !reported;
+        reported = true;
+        return first;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public double millis() {
+        return nanos / 1_000_000.0;
+    }
+}
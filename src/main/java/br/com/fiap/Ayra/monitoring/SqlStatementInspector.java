@@ -0,0 +1,27 @@
+package br.com.fiap.Ayra.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada comando SQL preparado pelo Hibernate na requisição corrente e guarda
+ * o último SQL da thread para o {@link SqlTimingListener} associá-lo ao tempo
+ * de execução. O SQL é devolvido sem alterações.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        LAST_STATEMENT.set(sql);
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statement();
+        }
+        return sql;
+    }
+}
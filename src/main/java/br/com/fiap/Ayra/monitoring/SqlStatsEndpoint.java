@@ -0,0 +1,32 @@
+package br.com.fiap.Ayra.monitoring;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/sqlstats?limit=20}: formatos de SQL mais lentos com contagem,
+ * tempo total, médio e máximo. {@code DELETE /actuator/sqlstats} zera as estatísticas.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public List<SlowQueryLog.Shape> top(@Nullable Integer limit) {
+        return slowQueryLog.top(limit != null ? limit : 20);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+    }
+}
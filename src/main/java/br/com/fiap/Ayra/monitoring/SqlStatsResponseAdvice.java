@@ -0,0 +1,49 @@
+package br.com.fiap.Ayra.monitoring;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adiciona {@code X-SQL-Count} e {@code X-SQL-Time-Ms} às respostas, com o que foi
+ * executado até o momento de serializar o corpo.
+ */
+@ControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Autowired
+    private SqlBudgetFilter filter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return body;
+        }
+
+        response.getHeaders().set(COUNT_HEADER, String.valueOf(stats.statements()));
+        response.getHeaders().set(TIME_HEADER, String.format(Locale.ROOT, "%.1f", stats.millis()));
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            filter.check(servletRequest.getServletRequest(), stats);
+        }
+        return body;
+    }
+}
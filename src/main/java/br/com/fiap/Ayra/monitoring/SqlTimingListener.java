@@ -0,0 +1,59 @@
+package br.com.fiap.Ayra.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mede a execução JDBC de cada comando: soma o tempo na requisição corrente e
+ * entrega o comando ao {@link SlowQueryLog}.
+ *
+ * Registrado em {@code hibernate.session.events.auto}: o Hibernate cria uma
+ * instância por sessão via reflexão, por isso o log é recebido de forma estática
+ * em {@link SqlMonitoringConfig}.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private static volatile SlowQueryLog slowQueryLog;
+
+    private long startedAt;
+
+    static void setSlowQueryLog(SlowQueryLog log) {
+        slowQueryLog = log;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private void ended() {
+        if (startedAt == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        startedAt = 0;
+
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.executed(elapsed);
+        }
+        SlowQueryLog log = slowQueryLog;
+        if (log != null) {
+            log.record(SqlStatementInspector.lastStatement(), elapsed);
+        }
+    }
+}
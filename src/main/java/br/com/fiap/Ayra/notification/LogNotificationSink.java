@@ -0,0 +1,52 @@
+package br.com.fiap.Ayra.notification;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Destino local para desenvolvimento e testes: registra o lote no log e, se
+ * {@code ayra.notification.file} estiver configurado, grava uma linha por
+ * notificação no arquivo.
+ */
+public class LogNotificationSink implements NotificationSink {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final Path file;
+
+    public LogNotificationSink(String file) {
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public void deliver(List<Notification> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.info("Notificando {} usuários sobre o alerta {}", batch.size(), batch.get(0).alertId());
+
+        if (file == null) {
+            batch.forEach(n -> log.debug("Notificação: {}", n));
+            return;
+        }
+
+        synchronized (this) {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Notification n : batch) {
+                    writer.write(n.alertId() + ";" + n.userId() + ";" + n.email() + ";" + n.phone() + ";"
+                            + n.intensity() + ";" + String.format(Locale.ROOT, "%.3f", n.distanceKm()));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
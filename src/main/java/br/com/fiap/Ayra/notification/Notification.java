@@ -0,0 +1,5 @@
+package br.com.fiap.Ayra.notification;
+
+/** Notificação de um alerta para um usuário dentro do seu raio. */
+public record Notification(Long alertId, String title, String intensity, Long userId, String email, String phone,
+                           double distanceKm) {}
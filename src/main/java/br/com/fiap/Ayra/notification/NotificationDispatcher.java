@@ -0,0 +1,216 @@
+package br.com.fiap.Ayra.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.fiap.Ayra.geo.GeoDistance;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.User;
+import br.com.fiap.Ayra.model.listener.EntityChangedEvent;
+import br.com.fiap.Ayra.repository.UserRepository;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Envia notificações aos usuários dentro do raio de cada alerta criado.
+ *
+ * O fluxo roda fora da requisição que criou o alerta:
+ * <ol>
+ *   <li>após o commit, o alerta é copiado e entregue a um resolvedor;</li>
+ *   <li>o resolvedor percorre os usuários da área por paginação por chave, em lotes
+ *       de {@code batch-size}, descartando quem está fora do raio;</li>
+ *   <li>cada lote vai para um pool limitado de entregas; com o pool cheio o próprio
+ *       resolvedor entrega, o que freia a leitura de usuários;</li>
+ *   <li>lotes que falham voltam para a fila com espera exponencial até
+ *       {@code max-attempts} tentativas.</li>
+ * </ol>
+ */
+@Service
+public class NotificationDispatcher {
+
+    private record AlertTarget(Long id, String title, String intensity, double latitude, double longitude, double radiusKm) {}
+
+    private record Batch(AlertTarget alert, List<Notification> notifications, int attempt) {
+        Batch next() {
+            return new Batch(alert, notifications, attempt + 1);
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final NotificationStats stats = new NotificationStats();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectProvider<NotificationSink> sinks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ayra.notification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ayra.notification.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ayra.notification.workers:4}")
+    private int workers;
+
+    @Value("${ayra.notification.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${ayra.notification.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${ayra.notification.retry-backoff-ms:1000}")
+    private long retryBackoffMillis;
+
+    @Value("${ayra.notification.file:}")
+    private String file;
+
+    private NotificationSink sink;
+    private ExecutorService resolver;
+    private ThreadPoolExecutor delivery;
+    private ScheduledExecutorService retries;
+
+    @PostConstruct
+    void start() {
+        sink = sinks.getIfUnique(() -> new LogNotificationSink(file));
+        resolver = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("notify-resolve-"));
+        delivery = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("notify-deliver-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        retries = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("notify-retry-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        resolver.shutdown();
+        retries.shutdown();
+        delivery.shutdown();
+    }
+
+    public NotificationStats stats() {
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || event.collection() != ResourceCollection.ALERT || event.operation() != Operation.INSERT) {
+            return;
+        }
+
+        Alert alert = (Alert) event.entity();
+        if (alert.getRadius() == null || alert.getCoordinates() == null
+                || alert.getCoordinates().getLatitude() == null || alert.getCoordinates().getLongitude() == null) {
+            return;
+        }
+
+        // Copia o necessário: a entidade não deve ser usada fora da sessão que a criou
+        AlertTarget target = new AlertTarget(alert.getId(), alert.getTitle(), alert.getIntensity(),
+                alert.getCoordinates().getLatitude(), alert.getCoordinates().getLongitude(), alert.getRadius());
+        resolver.execute(() -> dispatch(target));
+    }
+
+    private void dispatch(AlertTarget alert) {
+        long started = System.nanoTime();
+        double latDelta = GeoDistance.latDelta(alert.radiusKm());
+        double lonDelta = GeoDistance.lonDelta(alert.latitude(), alert.radiusKm());
+        long afterId = 0;
+        long recipients = 0;
+
+        try {
+            while (true) {
+                List<User> users = userRepository.findInAreaAfter(
+                        alert.latitude() - latDelta, alert.latitude() + latDelta,
+                        alert.longitude() - lonDelta, alert.longitude() + lonDelta,
+                        afterId, PageRequest.ofSize(batchSize));
+                if (users.isEmpty()) {
+                    break;
+                }
+                afterId = users.get(users.size() - 1).getId();
+
+                List<Notification> notifications = new ArrayList<>(users.size());
+                for (User user : users) {
+                    double distance = GeoDistance.km(alert.latitude(), alert.longitude(),
+                            user.getCoordinates().getLatitude(), user.getCoordinates().getLongitude());
+                    if (distance <= alert.radiusKm()) {
+                        notifications.add(new Notification(alert.id(), alert.title(), alert.intensity(),
+                                user.getId(), user.getEmail(), user.getPhone(), distance));
+                    }
+                }
+
+                if (!notifications.isEmpty()) {
+                    recipients += notifications.size();
+                    submit(new Batch(alert, notifications, 1));
+                }
+                if (users.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Falha ao resolver os usuários do alerta {} após {} destinatários", alert.id(), recipients, e);
+        }
+
+        stats.alertResolved(recipients);
+        meterRegistry.counter("ayra.notification.recipients").increment(recipients);
+        log.info("Alerta {}: {} destinatários resolvidos em {} ms", alert.id(), recipients,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void submit(Batch batch) {
+        delivery.execute(() -> deliver(batch));
+    }
+
+    private void deliver(Batch batch) {
+        long started = System.nanoTime();
+        try {
+            sink.deliver(batch.notifications());
+            long nanos = System.nanoTime() - started;
+            stats.batchDelivered(nanos);
+            recordBatch("delivered", nanos);
+            log.debug("Alerta {}: lote de {} entregue em {} ms (tentativa {})", batch.alert().id(),
+                    batch.notifications().size(), TimeUnit.NANOSECONDS.toMillis(nanos), batch.attempt());
+        } catch (Exception e) {
+            if (batch.attempt() >= maxAttempts) {
+                stats.batchDropped();
+                recordBatch("dropped", System.nanoTime() - started);
+                log.error("Alerta {}: lote de {} descartado após {} tentativas: {}", batch.alert().id(),
+                        batch.notifications().size(), batch.attempt(), e.getMessage());
+                return;
+            }
+
+            stats.batchRetried();
+            recordBatch("retried", System.nanoTime() - started);
+            long delay = retryBackoffMillis << Math.min(batch.attempt() - 1, 10);
+            log.warn("Alerta {}: falha na entrega de {} notificações, nova tentativa em {} ms: {}", batch.alert().id(),
+                    batch.notifications().size(), delay, e.getMessage());
+            retries.schedule(() -> submit(batch.next()), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void recordBatch(String outcome, long nanos) {
+        meterRegistry.timer("ayra.notification.batch", "outcome", outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.fiap.Ayra.notification;
+
+import java.util.List;
+
+/**
+ * Destino das notificações (push, SMS, e-mail...). Para usar outro canal basta
+ * registrar um bean que implemente esta interface; o {@link LogNotificationSink}
+ * é usado apenas quando nenhum outro existe.
+ *
+ * Uma exceção faz o lote inteiro ser reenviado depois, então implementações
+ * devem tolerar entregas repetidas.
+ */
+public interface NotificationSink {
+
+    void deliver(List<Notification> batch) throws Exception;
+}
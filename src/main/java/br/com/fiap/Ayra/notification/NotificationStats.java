@@ -0,0 +1,44 @@
+package br.com.fiap.Ayra.notification;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Contadores acumulados do despacho de notificações. */
+public class NotificationStats {
+
+    private final LongAdder alerts = new LongAdder();
+    private final LongAdder recipients = new LongAdder();
+    private final LongAdder batchesDelivered = new LongAdder();
+    private final LongAdder batchesRetried = new LongAdder();
+    private final LongAdder batchesDropped = new LongAdder();
+    private final LongAdder deliveryNanos = new LongAdder();
+
+    void alertResolved(long recipientCount) {
+        alerts.increment();
+        recipients.add(recipientCount);
+    }
+
+    void batchDelivered(long nanos) {
+        batchesDelivered.increment();
+        deliveryNanos.add(nanos);
+    }
+
+    void batchRetried() {
+        batchesRetried.increment();
+    }
+
+    void batchDropped() {
+        batchesDropped.increment();
+    }
+
+    public long alerts() { return alerts.sum(); }
+
+    public long recipients() { return recipients.sum(); }
+
+    public long batchesDelivered() { return batchesDelivered.sum(); }
+
+    public long batchesRetried() { return batchesRetried.sum(); }
+
+    public long batchesDropped() { return batchesDropped.sum(); }
+
+    public long deliveryNanos() { return deliveryNanos.sum(); }
+}
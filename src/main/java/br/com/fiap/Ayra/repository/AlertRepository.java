@@ -1,15 +1,55 @@
 package br.com.fiap.Ayra.repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.dto.AlertFeature;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface AlertRepository extends JpaRepository<Alert, Long>,JpaSpecificationExecutor<Alert> {
     // AlertRepository.java
     List<Alert> findByMapMarkerId(Long mapMarkerId);
+
+    // Conjunto ativo carregado em memória pelo AlertLifecycle
+    @EntityGraph(attributePaths = { "coordinates", "mapMarker", "mapMarker.coordinates" })
+    List<Alert> findByStatus(String status);
+
+    @Query("select a.id from Alert a where a.status = 'active' and a.expiresAt <= :now")
+    List<Long> findExpiredIds(@Param("now") ZonedDateTime now, Pageable pageable);
+
+    // Candidatos ao arquivo: expirados e anteriores ao horizonte
+    @Query("select a.id from Alert a where a.status = 'expired' and a.alertDatetime < :cutoff order by a.id")
+    List<Long> findArchivableIds(@Param("cutoff") ZonedDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("update Alert a set a.status = 'expired' where a.id in :ids")
+    int expire(@Param("ids") Collection<Long> ids);
+
+    // Cursor somente leitura: as linhas são lidas do banco conforme o JSON é escrito
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new br.com.fiap.Ayra.model.dto.AlertFeature(a.id, a.title, a.intensity, a.alertDatetime, "
+            + "a.location, a.radius, a.mapMarker.id, c.latitude, c.longitude) from Alert a join a.coordinates c "
+            + "where c.latitude between :minLat and :maxLat and c.longitude between :minLon and :maxLon "
+            + "and a.status = 'active' and (:intensity is null or a.intensity = :intensity) order by a.id")
+    Stream<AlertFeature> streamFeatures(@Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+                                        @Param("minLon") Double minLon, @Param("maxLon") Double maxLon,
+                                        @Param("intensity") String intensity);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package br.com.fiap.Ayra.repository;
+
+import java.time.ZonedDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.fiap.Ayra.model.ArchivedAlert;
+
+public interface ArchivedAlertRepository extends JpaRepository<ArchivedAlert, Long>, JpaSpecificationExecutor<ArchivedAlert> {
+
+    // Alerta arquivado mais recente: consultas que começam depois dele não leem o arquivo
+    @Query("select max(a.alertDatetime) from ArchivedAlert a")
+    ZonedDateTime findNewestAlertDatetime();
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.Ayra.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import br.com.fiap.Ayra.model.ArchivedCoordinates;
+
+public interface ArchivedCoordinatesRepository extends JpaRepository<ArchivedCoordinates, Long>, JpaSpecificationExecutor<ArchivedCoordinates> {
+
+    @Query("select max(c.dateCoordinate) from ArchivedCoordinates c")
+    LocalDate findNewestDateCoordinate();
+}
@@ -0,0 +1,13 @@
+package br.com.fiap.Ayra.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.com.fiap.Ayra.model.ChangeLog;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLog, Long> {
+    // Entradas ainda sem versão (transação recém-confirmada) ficam de fora: version > since é falso para nulo
+    List<ChangeLog> findByVersionGreaterThanOrderByVersionAsc(Long since, Pageable pageable);
+}
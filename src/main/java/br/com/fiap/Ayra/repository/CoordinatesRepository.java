@@ -1,12 +1,23 @@
 package br.com.fiap.Ayra.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.fiap.Ayra.model.Coordinates;
 
 public interface CoordinatesRepository extends JpaRepository<Coordinates, Long> ,JpaSpecificationExecutor<Coordinates> {
     List<Coordinates> findByLatitudeBetweenAndLongitudeBetween(Double minLat, Double maxLat, Double minLon, Double maxLon);
+
+    // Candidatas ao arquivo: anteriores ao horizonte e sem alerta, marcador ou usuário apontando para elas
+    @Query("select c.id from Coordinates c where c.dateCoordinate < :cutoff "
+            + "and not exists (select 1 from Alert a where a.coordinates = c) "
+            + "and not exists (select 1 from MapMarker m where m.coordinates = c) "
+            + "and not exists (select 1 from User u where u.coordinates = c) order by c.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDate cutoff, Pageable pageable);
 }
@@ -1,9 +1,30 @@
 package br.com.fiap.Ayra.repository;
 
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.dto.MapMarkerFeature;
+import jakarta.persistence.QueryHint;
 
 public interface MapMarkerRepository extends JpaRepository<MapMarker, Long>,JpaSpecificationExecutor<MapMarker> {
-}
\ No newline at end of file
+
+    // Cursor somente leitura: as linhas são lidas do banco conforme o JSON é escrito
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new br.com.fiap.Ayra.model.dto.MapMarkerFeature(m.id, m.title, m.intensity, m.radius, "
+            + "c.latitude, c.longitude) from MapMarker m join m.coordinates c "
+            + "where c.latitude between :minLat and :maxLat and c.longitude between :minLon and :maxLon "
+            + "and (:intensity is null or m.intensity = :intensity) order by m.id")
+    Stream<MapMarkerFeature> streamFeatures(@Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+                                            @Param("minLon") Double minLon, @Param("maxLon") Double maxLon,
+                                            @Param("intensity") String intensity);
+}
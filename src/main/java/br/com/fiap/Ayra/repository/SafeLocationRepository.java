@@ -8,4 +8,6 @@ import br.com.fiap.Ayra.model.SafeLocation;
 
 public interface SafeLocationRepository extends JpaRepository<SafeLocation, Long> {
     List<SafeLocation> findByAlertId(Long alertId);
+
+    List<SafeLocation> findByLatitudeIsNotNullAndLongitudeIsNotNull();
 }
\ No newline at end of file
@@ -1,13 +1,27 @@
 package br.com.fiap.Ayra.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.fiap.Ayra.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long>{
 
     Optional<User> findByEmail(String username);
+
+    boolean existsByEmail(String email);
+
+    // Paginação por chave (id > afterId) para percorrer muitos usuários sem OFFSET
+    @Query("select u from User u join fetch u.coordinates c "
+            + "where c.latitude between :minLat and :maxLat and c.longitude between :minLon and :maxLon "
+            + "and u.id > :afterId order by u.id")
+    List<User> findInAreaAfter(@Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+                               @Param("minLon") Double minLon, @Param("maxLon") Double maxLon,
+                               @Param("afterId") Long afterId, Pageable pageable);
     
 }
@@ -0,0 +1,71 @@
+package br.com.fiap.Ayra.risk;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.Ayra.geo.GeoCell;
+
+/**
+ * Quantidade de marcadores por célula da {@link GeoCell}, mantida em memória.
+ *
+ * A vizinhança de um ponto é o bloco de 3×3 células ao redor dele (cerca de 3 km de
+ * lado). Guarda também a célula de cada marcador, para que mover ou remover um
+ * marcador desconte a célula antiga.
+ */
+@Component
+public class MarkerDensity {
+
+    private final Map<GeoCell, Integer> counts = new HashMap<>();
+    private final Map<Long, GeoCell> markers = new HashMap<>();
+
+    /** Substitui a grade inteira: pares (id do marcador, latitude, longitude). */
+    synchronized void reset(List<Object[]> rows) {
+        counts.clear();
+        markers.clear();
+        for (Object[] row : rows) {
+            move((Long) row[0], GeoCell.of((Double) row[1], (Double) row[2]));
+        }
+    }
+
+    /**
+     * Coloca o marcador na célula informada, ou o remove se ela for nula, e devolve as
+     * células cuja contagem mudou.
+     */
+    synchronized Set<GeoCell> move(Long markerId, GeoCell cell) {
+        GeoCell previous = cell == null ? markers.remove(markerId) : markers.put(markerId, cell);
+        Set<GeoCell> changed = new LinkedHashSet<>();
+        if (cell != null && cell.equals(previous)) {
+            return changed;
+        }
+        if (previous != null) {
+            counts.computeIfPresent(previous, (key, count) -> count > 1 ? count - 1 : null);
+            changed.add(previous);
+        }
+        if (cell != null) {
+            counts.merge(cell, 1, Integer::sum);
+            changed.add(cell);
+        }
+        return changed;
+    }
+
+    /** Marcadores nas 3×3 células ao redor do ponto. */
+    public synchronized int around(double latitude, double longitude) {
+        GeoCell center = GeoCell.of(latitude, longitude);
+        int total = 0;
+        for (int lat = center.latIndex() - 1; lat <= center.latIndex() + 1; lat++) {
+            for (int lon = center.lonIndex() - 1; lon <= center.lonIndex() + 1; lon++) {
+                total += counts.getOrDefault(new GeoCell(lat, lon), 0);
+            }
+        }
+        return total;
+    }
+
+    public synchronized int markers() {
+        return markers.size();
+    }
+}
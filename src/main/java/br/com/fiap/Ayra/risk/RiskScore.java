@@ -0,0 +1,54 @@
+package br.com.fiap.Ayra.risk;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Pontuação de risco de um alerta:
+ *
+ * <pre>
+ * score = peso(intensity) × (1 + ln(1 + radius)) × (1 + ln(1 + marcadores próximos)) × 2^(−idade / meia-vida)
+ * </pre>
+ *
+ * Só o último fator muda com o tempo, e ele muda igual para todos os alertas. Por
+ * isso o banco guarda {@code risk_rank = ln(score) + λ × horas(alertDatetime)}, que
+ * não depende do momento da leitura e ordena os alertas exatamente como o score
+ * atual; o score é {@code exp(risk_rank − λ × horas(agora))}.
+ *
+ * O "agora" anda em passos de {@link #STEP_MILLIS}. Dentro de um passo, o score de
+ * um alerta não muda, e a ETag e o cache de respostas continuam valendo; na virada,
+ * o {@link RiskScorer} incrementa a versão dos alertas.
+ */
+public final class RiskScore {
+
+    /** Meia-vida da recência. Como entra no risk_rank, mudá-la exige recalcular todos os alertas. */
+    public static final double HALF_LIFE_HOURS = 6;
+
+    /** Intervalo em que o score exibido fica constante (cerca de 2% de decaimento). */
+    public static final long STEP_MILLIS = 10 * 60_000;
+
+    private static final double DECAY_PER_HOUR = Math.log(2) / HALF_LIFE_HOURS;
+    private static final double MILLIS_PER_HOUR = 3_600_000d;
+
+    private static final Map<String, Double> INTENSITY_WEIGHTS = Map.of("high", 3.0, "medium", 2.0, "low", 1.0);
+
+    private RiskScore() {}
+
+    public static double rank(String intensity, Double radius, int nearbyMarkers, ZonedDateTime alertDatetime) {
+        double base = INTENSITY_WEIGHTS.getOrDefault(intensity, 1.0)
+                * (1 + Math.log1p(radius == null ? 0 : Math.max(0, radius)))
+                * (1 + Math.log1p(nearbyMarkers));
+        return Math.log(base) + DECAY_PER_HOUR * alertDatetime.toInstant().toEpochMilli() / MILLIS_PER_HOUR;
+    }
+
+    /** Início do passo que contém o instante informado. */
+    public static long stepStart(long nowMillis) {
+        return nowMillis - Math.floorMod(nowMillis, STEP_MILLIS);
+    }
+
+    /** Score no instante informado, com duas casas decimais. */
+    public static double score(double rank, long nowMillis) {
+        double score = Math.exp(rank - DECAY_PER_HOUR * nowMillis / MILLIS_PER_HOUR);
+        return Math.round(score * 100) / 100.0;
+    }
+}
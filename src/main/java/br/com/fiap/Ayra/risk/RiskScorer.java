@@ -0,0 +1,220 @@
+package br.com.fiap.Ayra.risk;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.fiap.Ayra.geo.GeoCell;
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.listener.EntityChangedEvent;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mantém o {@code risk_rank} dos alertas atualizado sem recalcular nada por requisição.
+ *
+ * <ul>
+ *   <li>alertas criados ou alterados recebem o rank no próprio INSERT/UPDATE, pelo
+ *       {@code AlertRiskListener};</li>
+ *   <li>quando um marcador é criado, movido ou removido, a {@link MarkerDensity} é
+ *       ajustada e só os alertas das células vizinhas são recalculados;</li>
+ *   <li>na inicialização, a grade é montada e os alertas sem rank (linhas antigas
+ *       ou do gerador) são preenchidos em lotes;</li>
+ *   <li>marcadores gravados por outras instâncias chegam pelo {@code change_log}: a
+ *       cada {@code ayra.risk.sync-ms}, as entradas de MAP_MARKER novas movem a grade.
+ *       O rank no banco já foi recalculado pela instância que recebeu a escrita.</li>
+ * </ul>
+ *
+ * A recência não exige recalcular nada: ela já está embutida no rank (veja
+ * {@link RiskScore}). A cada passo do score, só a versão dos alertas muda, para que
+ * ETags e respostas em cache não mostrem o score do passo anterior.
+ */
+@Service
+public class RiskScorer {
+
+    private record AlertRow(Long id, String intensity, Double radius, OffsetDateTime alertDatetime, double latitude, double longitude) {}
+
+    private static final String SELECT_ALERTS =
+            "select a.id_alert, a.intensity, a.radius, a.alert_datetime, c.latitude, c.longitude "
+            + "from alert a join coordinates c on c.id_cor = a.coordinates_id ";
+
+    private static final int BACKFILL_BATCH = 500;
+    private static final int SYNC_BATCH = 500;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MarkerDensity density;
+
+    @Autowired
+    private AlertLifecycle lifecycle;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ayra.risk.sync-ms:1000}")
+    private long syncMillis;
+
+    // Última versão do change_log já aplicada à grade; só a thread risk- usa
+    private long lastChange;
+
+    // Recalcula em ordem, fora da requisição que alterou o marcador, e marca a virada dos passos
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("risk-"));
+
+    @PreDestroy
+    void stop() {
+        // Termina os recálculos já enfileirados, mas não espera a próxima virada de passo
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.shutdown();
+    }
+
+    // Antes do seeder e do conjunto ativo: o seeder já encontra a grade, e o conjunto já carrega os ranks
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReady() {
+        long started = System.nanoTime();
+        // Lida antes da grade: uma escrita no meio é reaplicada pela sincronização, sem efeito
+        lastChange = jdbcTemplate.queryForObject("select coalesce(max(version), 0) from change_log", Long.class);
+        density.reset(jdbcTemplate.query(
+                "select m.id_maker, c.latitude, c.longitude from map_marker m join coordinates c on c.id_cor = m.id_cor",
+                (rs, i) -> new Object[] { rs.getLong(1), rs.getDouble(2), rs.getDouble(3) }));
+
+        int filled = 0;
+        int batch;
+        do {
+            batch = rescore("where a.risk_rank is null order by a.id_alert fetch first " + BACKFILL_BATCH + " rows only");
+            filled += batch;
+        } while (batch == BACKFILL_BATCH);
+
+        log.info("Pontuação de risco: grade com {} marcadores, {} alertas preenchidos em {} ms", density.markers(), filled,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        scheduleStep();
+        executor.scheduleWithFixedDelay(this::syncMarkers, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Agenda pelo relógio de parede a próxima virada de passo; se acordar antes dela, espera o restante
+    private void scheduleStep() {
+        long next = RiskScore.stepStart(System.currentTimeMillis()) + RiskScore.STEP_MILLIS;
+        executor.schedule(() -> stepReached(next), next - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void stepReached(long step) {
+        long remaining = step - System.currentTimeMillis();
+        if (remaining > 0) {
+            executor.schedule(() -> stepReached(step), remaining, TimeUnit.MILLISECONDS);
+            return;
+        }
+        versions.bump(ResourceCollection.ALERT);
+        scheduleStep();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.collection() != ResourceCollection.MAP_MARKER) {
+            return;
+        }
+
+        MapMarker marker = (MapMarker) event.entity();
+        GeoCell cell = event.operation() == Operation.DELETE || marker.getCoordinates() == null ? null
+                : GeoCell.of(marker.getCoordinates().getLatitude(), marker.getCoordinates().getLongitude());
+        executor.execute(() -> markerMoved(event.id(), cell));
+    }
+
+    private void markerMoved(Long markerId, GeoCell cell) {
+        try {
+            Set<GeoCell> changed = density.move(markerId, cell);
+            for (GeoCell touched : changed) {
+                // Alertas cuja vizinhança 3×3 inclui a célula alterada
+                rescore("where c.latitude >= ? and c.latitude < ? and c.longitude >= ? and c.longitude < ?",
+                        (touched.latIndex() - 1) * GeoCell.SIZE, (touched.latIndex() + 2) * GeoCell.SIZE,
+                        (touched.lonIndex() - 1) * GeoCell.SIZE, (touched.lonIndex() + 2) * GeoCell.SIZE);
+            }
+        } catch (Exception e) {
+            log.error("Falha ao recalcular o risco em torno do marcador {}", markerId, e);
+        }
+    }
+
+    /**
+     * Aplica à grade os marcadores alterados desde a última sincronização, inclusive os
+     * gravados aqui (mover para a mesma célula não muda nada). Roda na thread risk-,
+     * depois dos recálculos já enfileirados pelos eventos locais.
+     */
+    private void syncMarkers() {
+        try {
+            List<Object[]> changes;
+            do {
+                changes = jdbcTemplate.query("select entity_id, version from change_log where entity = 'MAP_MARKER' "
+                        + "and version > ? order by version fetch first " + SYNC_BATCH + " rows only",
+                        (rs, i) -> new Object[] { rs.getLong(1), rs.getLong(2) }, lastChange);
+                if (changes.isEmpty()) {
+                    return;
+                }
+                Set<Long> ids = new LinkedHashSet<>();
+                changes.forEach(change -> ids.add((Long) change[0]));
+                Map<Long, GeoCell> cells = new HashMap<>();
+                jdbcTemplate.query("select m.id_maker, c.latitude, c.longitude from map_marker m "
+                        + "join coordinates c on c.id_cor = m.id_cor where m.id_maker in ("
+                        + String.join(",", Collections.nCopies(ids.size(), "?")) + ")",
+                        rs -> {
+                            cells.put(rs.getLong(1), GeoCell.of(rs.getDouble(2), rs.getDouble(3)));
+                        }, ids.toArray());
+                // Sem linha: o marcador foi removido
+                ids.forEach(id -> density.move(id, cells.get(id)));
+                lastChange = (Long) changes.get(changes.size() - 1)[1];
+            } while (changes.size() == SYNC_BATCH);
+        } catch (Exception e) {
+            log.warn("Falha ao sincronizar a grade de marcadores: {}", e.getMessage());
+        }
+    }
+
+    /** Recalcula e grava o rank dos alertas selecionados; devolve quantos foram atualizados. */
+    private int rescore(String where, Object... args) {
+        List<AlertRow> rows = jdbcTemplate.query(SELECT_ALERTS + where, (rs, i) -> new AlertRow(rs.getLong(1), rs.getString(2),
+                rs.getDouble(3), rs.getObject(4, OffsetDateTime.class), rs.getDouble(5), rs.getDouble(6)), args);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Double> ranks = new HashMap<>();
+        for (AlertRow row : rows) {
+            ranks.put(row.id(), RiskScore.rank(row.intensity(), row.radius(), density.around(row.latitude(), row.longitude()),
+                    row.alertDatetime().toZonedDateTime()));
+        }
+        jdbcTemplate.batchUpdate("update alert set risk_rank = ? where id_alert = ?",
+                ranks.entrySet().stream().map(entry -> new Object[] { entry.getValue(), entry.getKey() }).toList());
+
+        lifecycle.updateRisk(ranks);
+        versions.bump(ResourceCollection.ALERT);
+        meterRegistry.counter("ayra.risk.rescored").increment(rows.size());
+        return rows.size();
+    }
+}
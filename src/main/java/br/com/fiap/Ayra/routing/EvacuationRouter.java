@@ -0,0 +1,282 @@
+package br.com.fiap.Ayra.routing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.dto.EvacuationRoute;
+import br.com.fiap.Ayra.model.dto.EvacuationRoute.Waypoint;
+import br.com.fiap.Ayra.model.listener.EntityChangedEvent;
+import br.com.fiap.Ayra.repository.SafeLocationRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Rotas de evacuação até o local seguro mais próximo, sobre o grafo viário de
+ * {@code ayra.routing.graph}.
+ *
+ * <ul>
+ *   <li>o grafo é carregado uma vez, na inicialização, em arrays primitivos
+ *       ({@link RoadGraph});</li>
+ *   <li>as vias que passam pelo raio de algum alerta em vigor e os nós dos locais
+ *       seguros com posição são marcados de novo só quando o conjunto de alertas
+ *       ({@link AlertLifecycle#version()}) ou de locais seguros muda;</li>
+ *   <li>cada rota fica em cache pela célula de origem e por essas duas versões:
+ *       durante uma evacuação, os pedidos de uma mesma região não repetem a busca;</li>
+ *   <li>locais seguros gravados por outras instâncias não geram evento aqui: a cada
+ *       {@code ayra.versions.refresh-ms}, fora das requisições, os locais são relidos
+ *       se a versão compartilhada de SAFE_LOCATION mudou.</li>
+ * </ul>
+ */
+@Service
+@EnableConfigurationProperties(RoutingProperties.class)
+public class EvacuationRouter {
+
+    private record Shelter(Long id, String location, double latitude, double longitude) {}
+
+    // Grafo marcado para uma versão dos alertas e dos locais seguros
+    private record Network(long alerts, long shelters, EvacuationSearch search, Map<Integer, Shelter> byNode) {}
+
+    private record RouteKey(long latIndex, long lonIndex, long alerts, long shelters) {}
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private AlertLifecycle lifecycle;
+
+    @Autowired
+    private SafeLocationRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RoutingProperties properties;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    private final Map<Long, Shelter> shelters = new ConcurrentHashMap<>();
+    private final AtomicLong shelterVersion = new AtomicLong();
+    // Versão compartilhada de SAFE_LOCATION lida antes da última releitura
+    private volatile long shelterWatermark = -1;
+
+    private RoadGraph graph;
+    private Cache<RouteKey, Optional<EvacuationRoute>> cache;
+    private Timer searchTimer;
+    private volatile Network network;
+
+    @PostConstruct
+    void start() {
+        if (properties.getGraph().isBlank()) {
+            log.info("Rotas de evacuação desligadas: ayra.routing.graph não configurado");
+            return;
+        }
+
+        long started = System.nanoTime();
+        Resource resource = resourceLoader.getResource(properties.getGraph());
+        try (InputStream input = resource.getInputStream()) {
+            graph = RoadGraph.load(properties.getGraph().endsWith(".gz") ? new GZIPInputStream(input) : input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao carregar o grafo viário de " + properties.getGraph(), e);
+        }
+        log.info("Grafo viário carregado: {} nós e {} arestas ({} KB) em {} ms", graph.nodes(), graph.edges(),
+                graph.sizeInBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "evacuation-routes");
+        searchTimer = meterRegistry.timer("ayra.routing.search");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (graph != null) {
+            reloadShelters();
+        }
+    }
+
+    /**
+     * Relê do banco os locais seguros com posição (ex.: depois que o arquivamento remove
+     * alguns). A versão só muda, e o grafo só é remarcado, se algum local mudou.
+     */
+    public void reloadShelters() {
+        if (graph == null) {
+            return;
+        }
+        // Outro monitor que o do grafo: a consulta não segura as rotas que estão remarcando
+        synchronized (shelters) {
+            loadShelters();
+        }
+    }
+
+    private void loadShelters() {
+        long seen = versions.version(ResourceCollection.SAFE_LOCATION);
+        Map<Long, Shelter> loaded = new HashMap<>();
+        repository.findByLatitudeIsNotNullAndLongitudeIsNotNull().forEach(location -> loaded.put(location.getId(), shelter(location)));
+        shelterWatermark = seen;
+        if (loaded.equals(shelters)) {
+            return;
+        }
+        shelters.keySet().retainAll(loaded.keySet());
+        shelters.putAll(loaded);
+        shelterVersion.incrementAndGet();
+    }
+
+    // Escritas de outras instâncias; a comparação não consulta o banco
+    @Scheduled(initialDelayString = "${ayra.versions.refresh-ms:1000}", fixedDelayString = "${ayra.versions.refresh-ms:1000}")
+    public void syncShelters() {
+        if (graph == null || shelterWatermark < 0) {
+            return;
+        }
+        try {
+            if (versions.version(ResourceCollection.SAFE_LOCATION) != shelterWatermark) {
+                reloadShelters();
+            }
+        } catch (Exception e) {
+            log.warn("Falha ao reler os locais seguros: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (graph == null || event.collection() != ResourceCollection.SAFE_LOCATION) {
+            return;
+        }
+        SafeLocation location = (SafeLocation) event.entity();
+        if (event.operation() != Operation.DELETE && location.getLatitude() != null && location.getLongitude() != null) {
+            shelters.put(location.getId(), shelter(location));
+        } else if (shelters.remove(event.id()) == null) {
+            return;
+        }
+        shelterVersion.incrementAndGet();
+    }
+
+    /**
+     * Rota do ponto informado até o local seguro de menor custo, ou vazio se o ponto
+     * estiver longe do grafo ou nenhum local seguro for alcançável.
+     */
+    public Optional<EvacuationRoute> route(double latitude, double longitude) {
+        if (graph == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Rotas de evacuação indisponíveis: grafo viário não configurado");
+        }
+        Network current = network();
+        RouteKey key = new RouteKey((long) Math.floor(latitude / properties.getOriginCell()),
+                (long) Math.floor(longitude / properties.getOriginCell()), current.alerts(), current.shelters());
+        return cache.get(key, k -> search(current, k));
+    }
+
+    private Optional<EvacuationRoute> search(Network network, RouteKey key) {
+        // A rota parte do nó mais próximo do centro da célula, a mesma para todos os pontos dela
+        double cell = properties.getOriginCell();
+        int origin = graph.nearest((key.latIndex() + 0.5) * cell, (key.lonIndex() + 0.5) * cell, properties.getSnapDistanceKm());
+        if (origin < 0) {
+            return Optional.empty();
+        }
+
+        EvacuationSearch.Result result = searchTimer.record(() -> network.search().from(origin));
+        if (result == null) {
+            return Optional.empty();
+        }
+        Shelter shelter = network.byNode().get(result.target());
+        List<Waypoint> path = new ArrayList<>(result.path().length);
+        for (int node : result.path()) {
+            path.add(new Waypoint(graph.latitude(node), graph.longitude(node)));
+        }
+        path.add(new Waypoint(shelter.latitude(), shelter.longitude()));
+        return Optional.of(new EvacuationRoute(shelter.id(), shelter.location(), round(result.distanceKm()), round(result.dangerKm()), path));
+    }
+
+    private Network network() {
+        Network current = network;
+        long alerts = lifecycle.version();
+        long shelterVersion = this.shelterVersion.get();
+        if (current != null && current.alerts() == alerts && current.shelters() == shelterVersion) {
+            return current;
+        }
+        synchronized (this) {
+            current = network;
+            if (current == null || current.alerts() != alerts || current.shelters() != shelterVersion) {
+                current = build(alerts, shelterVersion);
+                network = current;
+            }
+            return current;
+        }
+    }
+
+    // As versões são lidas antes dos dados: uma mudança no meio só faz a próxima rota remarcar o grafo
+    private Network build(long alerts, long shelterVersion) {
+        long started = System.nanoTime();
+        BitSet danger = new BitSet(graph.edges());
+        // Sem recarregar do banco na requisição: o ticker do AlertLifecycle cuida disso
+        for (Alert alert : lifecycle.snapshot()) {
+            if (alert.getCoordinates() != null && alert.getCoordinates().getLatitude() != null
+                    && alert.getCoordinates().getLongitude() != null && alert.getRadius() != null) {
+                graph.forEachEdgeWithin(alert.getCoordinates().getLatitude(), alert.getCoordinates().getLongitude(), alert.getRadius(), danger::set);
+            }
+        }
+
+        // Um local seguro pertence a um alerta e costuma ficar dentro do raio dele: continua
+        // sendo destino, e a penalidade das vias faz a busca preferir os menos expostos
+        Map<Integer, Shelter> byNode = new HashMap<>();
+        for (Shelter shelter : shelters.values()) {
+            int node = graph.nearest(shelter.latitude(), shelter.longitude(), properties.getSnapDistanceKm());
+            if (node >= 0) {
+                byNode.merge(node, shelter, (a, b) -> a.id() <= b.id() ? a : b);
+            }
+        }
+        int[] targets = byNode.keySet().stream().mapToInt(Integer::intValue).toArray();
+
+        log.debug("Grafo viário marcado em {} ms: {} arestas em área de alerta, {} locais seguros no grafo",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), danger.cardinality(), targets.length);
+        return new Network(alerts, shelterVersion,
+                new EvacuationSearch(graph, danger, properties.getAlertPenalty(), targets), byNode);
+    }
+
+    private static Shelter shelter(SafeLocation location) {
+        return new Shelter(location.getId(), location.getLocation(), location.getLatitude(), location.getLongitude());
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.fiap.Ayra.routing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import br.com.fiap.Ayra.geo.GeoDistance;
+
+/**
+ * A* de um nó de origem até o destino mais próximo entre vários.
+ *
+ * O custo de uma aresta é o comprimento, multiplicado por {@code penalty} quando o
+ * trecho passa pelo raio de um alerta em vigor ({@code danger}, indexado por aresta). A heurística é a distância em
+ * linha reta até o destino mais próximo: nunca maior que o custo real (a penalidade é
+ * sempre ≥ 1), então a primeira chegada a um destino é a rota de menor custo.
+ */
+final class EvacuationSearch {
+
+    /** Acima disso, calcular a heurística custa mais do que ela economiza: vira Dijkstra. */
+    static final int HEURISTIC_TARGETS = 256;
+
+    record Result(int[] path, double distanceKm, double dangerKm) {
+
+        int target() {
+            return path[path.length - 1];
+        }
+    }
+
+    private final RoadGraph graph;
+    private final BitSet danger;
+    private final double penalty;
+    private final BitSet targets;
+    private final double[] targetLatitude;
+    private final double[] targetLongitude;
+
+    EvacuationSearch(RoadGraph graph, BitSet dangerEdges, double penalty, int[] targetNodes) {
+        this.graph = graph;
+        this.danger = dangerEdges;
+        this.penalty = penalty;
+        this.targets = new BitSet(graph.nodes());
+        boolean heuristic = targetNodes.length <= HEURISTIC_TARGETS;
+        this.targetLatitude = new double[heuristic ? targetNodes.length : 0];
+        this.targetLongitude = new double[heuristic ? targetNodes.length : 0];
+        for (int i = 0; i < targetNodes.length; i++) {
+            targets.set(targetNodes[i]);
+            if (heuristic) {
+                targetLatitude[i] = graph.latitude(targetNodes[i]);
+                targetLongitude[i] = graph.longitude(targetNodes[i]);
+            }
+        }
+    }
+
+    /** Rota de menor custo até um destino, ou {@code null} se nenhum for alcançável. */
+    Result from(int origin) {
+        if (targets.isEmpty()) {
+            return null;
+        }
+        int nodes = graph.nodes();
+        double[] cost = new double[nodes];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        int[] previous = new int[nodes];
+        int[] previousEdge = new int[nodes];
+        BitSet settled = new BitSet(nodes);
+        Heap open = new Heap();
+
+        cost[origin] = 0;
+        previous[origin] = -1;
+        open.push(heuristic(origin), origin);
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (settled.get(node)) {
+                continue;
+            }
+            if (targets.get(node)) {
+                return result(node, previous, previousEdge);
+            }
+            settled.set(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.target(edge);
+                if (settled.get(next)) {
+                    continue;
+                }
+                double candidate = cost[node] + weight(edge);
+                if (candidate < cost[next]) {
+                    cost[next] = candidate;
+                    previous[next] = node;
+                    previousEdge[next] = edge;
+                    open.push(candidate + heuristic(next), next);
+                }
+            }
+        }
+        return null;
+    }
+
+    private double weight(int edge) {
+        return danger.get(edge) ? graph.lengthKm(edge) * penalty : graph.lengthKm(edge);
+    }
+
+    private double heuristic(int node) {
+        double lat = graph.latitude(node);
+        double lon = graph.longitude(node);
+        double best = targetLatitude.length == 0 ? 0 : Double.POSITIVE_INFINITY;
+        for (int i = 0; i < targetLatitude.length; i++) {
+            best = Math.min(best, GeoDistance.km(lat, lon, targetLatitude[i], targetLongitude[i]));
+        }
+        return best;
+    }
+
+    private Result result(int target, int[] previous, int[] previousEdge) {
+        int length = 1;
+        for (int node = target; previous[node] != -1; node = previous[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int node = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = node;
+            node = previous[node];
+        }
+
+        double distance = 0;
+        double inDanger = 0;
+        for (int i = 1; i < path.length; i++) {
+            int edge = previousEdge[path[i]];
+            distance += graph.lengthKm(edge);
+            if (danger.get(edge)) {
+                inDanger += graph.lengthKm(edge);
+            }
+        }
+        return new Result(path, distance, inDanger);
+    }
+
+    /** Heap binário de (prioridade, nó) em arrays; entradas velhas são descartadas no pop. */
+    private static final class Heap {
+
+        private double[] keys = new double[64];
+        private int[] values = new int[64];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(double key, int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int pop() {
+            int top = values[0];
+            double key = keys[--size];
+            int value = values[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = key;
+            values[i] = value;
+            return top;
+        }
+    }
+}
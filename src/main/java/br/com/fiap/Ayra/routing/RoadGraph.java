@@ -0,0 +1,253 @@
+package br.com.fiap.Ayra.routing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import br.com.fiap.Ayra.geo.GeoCell;
+import br.com.fiap.Ayra.geo.GeoDistance;
+
+/**
+ * Grafo viário imutável em arrays primitivos (formato CSR).
+ *
+ * As arestas que saem do nó {@code n} ocupam as posições
+ * {@code firstEdge[n] .. firstEdge[n + 1] - 1} de {@code target} e {@code lengthKm}.
+ * Não há um objeto por nó ou por aresta: um grafo de uma cidade inteira cabe em
+ * poucas dezenas de megabytes e é percorrido sem pressão no GC.
+ *
+ * <p>Formato do arquivo (texto, campos separados por espaço, {@code #} comenta a linha):
+ *
+ * <pre>
+ * v &lt;id&gt; &lt;latitude&gt; &lt;longitude&gt;
+ * e &lt;id de origem&gt; &lt;id de destino&gt; [oneway]
+ * </pre>
+ *
+ * Arestas são de mão dupla, a menos que terminem em {@code oneway}. O comprimento é a
+ * distância de grande círculo entre os dois nós.
+ */
+public final class RoadGraph {
+
+    private final double[] latitude;
+    private final double[] longitude;
+    private final int[] firstEdge;
+    private final int[] target;
+    private final float[] lengthKm;
+    private final double maxLengthKm;
+
+    // Nós por célula de 0.01°, para achar o nó mais próximo de um ponto
+    private final Map<GeoCell, int[]> cells;
+
+    private RoadGraph(double[] latitude, double[] longitude, int[] firstEdge, int[] target, float[] lengthKm) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.firstEdge = firstEdge;
+        this.target = target;
+        this.lengthKm = lengthKm;
+        double longest = 0;
+        for (float km : lengthKm) {
+            longest = Math.max(longest, km);
+        }
+        this.maxLengthKm = longest;
+        this.cells = index(latitude, longitude);
+    }
+
+    public static RoadGraph load(InputStream input) throws IOException {
+        Map<Long, Integer> ids = new HashMap<>();
+        double[] lat = new double[1024];
+        double[] lon = new double[1024];
+        long[] edges = new long[1024];
+        int nodes = 0;
+        int edgeCount = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            try {
+                if ("v".equals(fields[0]) && fields.length >= 4) {
+                    if (ids.putIfAbsent(Long.parseLong(fields[1]), nodes) != null) {
+                        throw new IOException("Nó repetido na linha " + lineNumber + ": " + fields[1]);
+                    }
+                    if (nodes == lat.length) {
+                        lat = Arrays.copyOf(lat, nodes * 2);
+                        lon = Arrays.copyOf(lon, nodes * 2);
+                    }
+                    lat[nodes] = Double.parseDouble(fields[2]);
+                    lon[nodes] = Double.parseDouble(fields[3]);
+                    nodes++;
+                } else if ("e".equals(fields[0]) && fields.length >= 3) {
+                    int from = node(ids, fields[1], lineNumber);
+                    int to = node(ids, fields[2], lineNumber);
+                    boolean oneway = fields.length > 3 && "oneway".equals(fields[3]);
+                    if (edgeCount + 2 > edges.length) {
+                        edges = Arrays.copyOf(edges, edges.length * 2);
+                    }
+                    edges[edgeCount++] = pack(from, to);
+                    if (!oneway) {
+                        edges[edgeCount++] = pack(to, from);
+                    }
+                } else {
+                    throw new IOException("Linha " + lineNumber + " inválida: " + line);
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Número inválido na linha " + lineNumber + ": " + line, e);
+            }
+        }
+
+        // Ordena por origem: as arestas de cada nó ficam contíguas
+        Arrays.sort(edges, 0, edgeCount);
+        int[] firstEdge = new int[nodes + 1];
+        int[] target = new int[edgeCount];
+        float[] lengthKm = new float[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int from = (int) (edges[i] >>> 32);
+            int to = (int) edges[i];
+            firstEdge[from + 1]++;
+            target[i] = to;
+            lengthKm[i] = (float) GeoDistance.km(lat[from], lon[from], lat[to], lon[to]);
+        }
+        for (int n = 0; n < nodes; n++) {
+            firstEdge[n + 1] += firstEdge[n];
+        }
+        return new RoadGraph(Arrays.copyOf(lat, nodes), Arrays.copyOf(lon, nodes), firstEdge, target, lengthKm);
+    }
+
+    private static int node(Map<Long, Integer> ids, String id, int lineNumber) throws IOException {
+        Integer node = ids.get(Long.parseLong(id));
+        if (node == null) {
+            throw new IOException("Aresta com nó desconhecido na linha " + lineNumber + ": " + id);
+        }
+        return node;
+    }
+
+    private static long pack(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private static Map<GeoCell, int[]> index(double[] latitude, double[] longitude) {
+        Map<GeoCell, Integer> counts = new HashMap<>();
+        for (int n = 0; n < latitude.length; n++) {
+            counts.merge(GeoCell.of(latitude[n], longitude[n]), 1, Integer::sum);
+        }
+        Map<GeoCell, int[]> cells = new HashMap<>(counts.size() * 2);
+        counts.forEach((cell, count) -> cells.put(cell, new int[count]));
+        for (int n = latitude.length - 1; n >= 0; n--) {
+            GeoCell cell = GeoCell.of(latitude[n], longitude[n]);
+            int remaining = counts.merge(cell, -1, Integer::sum);
+            cells.get(cell)[remaining] = n;
+        }
+        return cells;
+    }
+
+    public int nodes() {
+        return latitude.length;
+    }
+
+    public int edges() {
+        return target.length;
+    }
+
+    public double latitude(int node) {
+        return latitude[node];
+    }
+
+    public double longitude(int node) {
+        return longitude[node];
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int endEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int target(int edge) {
+        return target[edge];
+    }
+
+    public double lengthKm(int edge) {
+        return lengthKm[edge];
+    }
+
+    /** Bytes ocupados pelos arrays do grafo (sem o índice de células). */
+    public long sizeInBytes() {
+        return 16L * latitude.length + 4L * firstEdge.length + 8L * target.length;
+    }
+
+    /** Nó mais próximo do ponto, a no máximo {@code maxKm}, ou -1 se não houver. */
+    public int nearest(double lat, double lon, double maxKm) {
+        int[] best = { -1 };
+        double[] bestKm = { maxKm };
+        forEachWithin(lat, lon, maxKm, node -> {
+            double km = GeoDistance.km(lat, lon, latitude[node], longitude[node]);
+            if (km <= bestKm[0]) {
+                bestKm[0] = km;
+                best[0] = node;
+            }
+        });
+        return best[0];
+    }
+
+    /**
+     * Visita as arestas cujo trecho passa a no máximo {@code radiusKm} do ponto, mesmo
+     * com as duas pontas fora do círculo.
+     */
+    public void forEachEdgeWithin(double lat, double lon, double radiusKm, IntConsumer action) {
+        // A origem de um trecho que passa pelo círculo está a no máximo raio + comprimento
+        // do centro; a folga de 1% cobre a diferença entre a projeção plana e o haversine
+        forEachWithin(lat, lon, (radiusKm + maxLengthKm) * 1.01, node -> {
+            for (int edge = firstEdge[node]; edge < firstEdge[node + 1]; edge++) {
+                int to = target[edge];
+                if (GeoDistance.segmentKm(lat, lon, latitude[node], longitude[node], latitude[to], longitude[to]) <= radiusKm) {
+                    action.accept(edge);
+                }
+            }
+        });
+    }
+
+    /** Visita os nós a no máximo {@code radiusKm} do ponto. */
+    public void forEachWithin(double lat, double lon, double radiusKm, IntConsumer action) {
+        double dLat = GeoDistance.latDelta(radiusKm);
+        double dLon = GeoDistance.lonDelta(lat, radiusKm);
+        GeoCell min = GeoCell.of(lat - dLat, lon - dLon);
+        GeoCell max = GeoCell.of(lat + dLat, lon + dLon);
+        long area = (long) (max.latIndex() - min.latIndex() + 1) * (max.lonIndex() - min.lonIndex() + 1);
+
+        IntConsumer within = node -> {
+            if (GeoDistance.km(lat, lon, latitude[node], longitude[node]) <= radiusKm) {
+                action.accept(node);
+            }
+        };
+        // Círculos maiores que o próprio índice: percorre todos os nós
+        if (area > cells.size()) {
+            for (int n = 0; n < latitude.length; n++) {
+                within.accept(n);
+            }
+            return;
+        }
+        for (int la = min.latIndex(); la <= max.latIndex(); la++) {
+            for (int lo = min.lonIndex(); lo <= max.lonIndex(); lo++) {
+                int[] nodes = cells.get(new GeoCell(la, lo));
+                if (nodes != null) {
+                    for (int node : nodes) {
+                        within.accept(node);
+                    }
+                }
+            }
+        }
+    }
+}
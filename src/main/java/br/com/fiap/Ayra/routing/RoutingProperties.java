@@ -0,0 +1,36 @@
+package br.com.fiap.Ayra.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Rotas de evacuação sobre o grafo viário local ({@code ayra.routing.*}). Validado na
+ * inicialização: com penalidade menor que 1 a heurística da busca deixa de ser
+ * admissível, e uma célula de origem zero ou negativa estraga a chave do cache.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "ayra.routing")
+public class RoutingProperties {
+
+    // Local do grafo (ex.: file:/dados/sao-paulo.graph ou .graph.gz); vazio desliga as rotas
+    private String graph = "";
+
+    // Multiplica o custo das vias dentro do raio de um alerta em vigor
+    @DecimalMin("1")
+    private double alertPenalty = 10;
+
+    // Distância máxima entre um ponto (origem ou local seguro) e o nó do grafo mais próximo
+    private double snapDistanceKm = 1.0;
+
+    // Lado, em graus, da célula de origem: pontos na mesma célula dividem a rota em cache
+    @Positive
+    private double originCell = 0.002;
+
+    // Rotas guardadas (uma por célula de origem e versão dos alertas e locais seguros)
+    private long cacheSize = 10_000;
+}
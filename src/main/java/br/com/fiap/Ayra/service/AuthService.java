@@ -1,25 +1,56 @@
 package br.com.fiap.Ayra.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import br.com.fiap.Ayra.config.ActuatorProperties;
 import br.com.fiap.Ayra.repository.UserRepository;
 
 
 @Service
+@EnableConfigurationProperties(ActuatorProperties.class)
 public class AuthService implements UserDetailsService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ActuatorProperties actuator;
+
+    @Autowired
+    @Lazy
+    private PasswordEncoder passwordEncoder;
+
+    // Hash bcrypt da senha de coleta, calculado no primeiro login da conta
+    private volatile String actuatorPassword;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // A conta de coleta não existe na tabela de usuários, então não pode ser criada por POST /users
+        if (!actuator.getPassword().isEmpty() && actuator.getUsername().equals(username)) {
+            return org.springframework.security.core.userdetails.User.withUsername(username)
+                    .password(actuatorPassword())
+                    .roles(ActuatorProperties.ROLE)
+                    .build();
+        }
         return userRepository.findByEmail(username).orElseThrow(
             () -> new UsernameNotFoundException("Usuário não encontrado")
         );
     }
-    
-}
\ No newline at end of file
+
+    private String actuatorPassword() {
+        String encoded = actuatorPassword;
+        if (encoded == null) {
+            encoded = passwordEncoder.encode(actuator.getPassword());
+            actuatorPassword = encoded;
+        }
+        return encoded;
+    }
+
+}
@@ -0,0 +1,93 @@
+package br.com.fiap.Ayra.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+
+/**
+ * Grava entradas no change_log a partir do listener das entidades.
+ *
+ * Usa JDBC direto porque é chamado durante o flush do Hibernate; o JdbcTemplate
+ * participa da mesma transação (e conexão) da escrita original, então a entrada
+ * só fica visível se a escrita for confirmada. A versão do /sync é atribuída
+ * depois do commit, pelo {@link ChangeLogStamper}.
+ */
+@Service
+public class ChangeLogRecorder {
+
+    private static final Set<ResourceCollection> TRACKED = EnumSet.of(
+            ResourceCollection.ALERT,
+            ResourceCollection.MAP_MARKER,
+            ResourceCollection.SAFE_ROUTES,
+            ResourceCollection.SAFE_LOCATION,
+            ResourceCollection.SAFE_TIP);
+
+    private static final String INSERT_SQL =
+            "insert into change_log (entity, entity_id, operation, changed_at) values (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // O listener das entidades precisa deste bean antes do EntityManagerFactory existir,
+    // e o stamper depende do transactionManager, que depende do EntityManagerFactory
+    @Lazy
+    @Autowired
+    private ChangeLogStamper stamper;
+
+    public static boolean isTracked(ResourceCollection collection) {
+        return TRACKED.contains(collection);
+    }
+
+    public void record(ResourceCollection collection, Long entityId, Operation operation) {
+        if (entityId == null || !isTracked(collection)) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL, collection.name(), entityId, operation.name(), Timestamp.from(Instant.now()));
+        stampAfterCommit();
+    }
+
+    /** Várias entradas em lote, para escritas em massa que não passam pelo listener. */
+    public void recordAll(ResourceCollection collection, Collection<Long> entityIds, Operation operation) {
+        if (entityIds.isEmpty() || !isTracked(collection)) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, entityIds.stream()
+                .map(id -> new Object[] { collection.name(), id, operation.name(), now })
+                .toList());
+        stampAfterCommit();
+    }
+
+    // Uma numeração por transação, não importa quantas entradas ela gravou
+    private void stampAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stamper.stamp();
+            return;
+        }
+        // As sincronizações são suspensas junto com a transação: a lista é só desta
+        if (TransactionSynchronizationManager.getSynchronizations().stream().noneMatch(StampAfterCommit.class::isInstance)) {
+            TransactionSynchronizationManager.registerSynchronization(new StampAfterCommit());
+        }
+    }
+
+    private final class StampAfterCommit implements TransactionSynchronization {
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                stamper.stamp();
+            }
+        }
+    }
+}
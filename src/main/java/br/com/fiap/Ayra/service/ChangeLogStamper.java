@@ -0,0 +1,103 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Atribui as versões do /sync às entradas do change_log depois do commit.
+ *
+ * Se a versão viesse do INSERT, uma transação longa confirmaria uma versão menor que
+ * a de outras já lidas pelos clientes, e a alteração nunca seria entregue. Aqui as
+ * entradas nascem sem versão e são numeradas em uma transação própria, com a linha
+ * do {@code change_log_counter} travada: a numeração seguinte só começa depois do
+ * commit desta, então versões visíveis nunca ganham uma menor depois.
+ */
+@Service
+public class ChangeLogStamper {
+
+    private static final int COUNTER_ID = 1;
+    private static final int BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void start() {
+        // Também roda no afterCompletion da escrita, quando a transação original já terminou
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Numera todas as entradas confirmadas que ainda não têm versão. */
+    public void stamp() {
+        try {
+            while (Boolean.TRUE.equals(requiresNew.execute(status -> stampBatch()))) {
+                // próximo lote
+            }
+        } catch (Exception e) {
+            // A varredura periódica tenta de novo; a escrita original já foi confirmada
+            log.warn("Falha ao numerar o change_log: {}", e.getMessage());
+        }
+    }
+
+    // Cobre entradas cujo afterCompletion não rodou (ex.: queda logo depois do commit)
+    @Scheduled(initialDelayString = "${ayra.sync.stamp-interval-ms:5000}", fixedDelayString = "${ayra.sync.stamp-interval-ms:5000}")
+    public void sweep() {
+        stamp();
+    }
+
+    private boolean stampBatch() {
+        long last = lockCounter();
+        List<Long> pending = jdbcTemplate.queryForList(
+                "select id_change from change_log where version is null order by id_change fetch first " + BATCH_SIZE + " rows only",
+                Long.class);
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        List<Object[]> versions = new ArrayList<>(pending.size());
+        for (Long id : pending) {
+            versions.add(new Object[] { ++last, id });
+        }
+        jdbcTemplate.batchUpdate("update change_log set version = ? where id_change = ?", versions);
+        jdbcTemplate.update("update change_log_counter set last_version = ? where id = ?", last, COUNTER_ID);
+        return pending.size() == BATCH_SIZE;
+    }
+
+    private long lockCounter() {
+        List<Long> last = jdbcTemplate.queryForList(
+                "select last_version from change_log_counter where id = ? for update", Long.class, COUNTER_ID);
+        if (!last.isEmpty()) {
+            return last.get(0);
+        }
+        // Primeira numeração do banco; outra instância pode criar a linha ao mesmo tempo
+        try {
+            jdbcTemplate.update("insert into change_log_counter (id, last_version) "
+                    + "select ?, coalesce(max(version), 0) from change_log", COUNTER_ID);
+        } catch (DuplicateKeyException e) {
+            log.debug("Contador do change_log criado por outra instância");
+        }
+        return jdbcTemplate.queryForObject(
+                "select last_version from change_log_counter where id = ? for update", Long.class, COUNTER_ID);
+    }
+}
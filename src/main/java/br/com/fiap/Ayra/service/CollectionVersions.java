@@ -0,0 +1,176 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Versão por coleção, incrementada a cada escrita confirmada.
+ *
+ * Permite responder requisições condicionais (If-None-Match / If-Modified-Since)
+ * sem consultar as tabelas da coleção. As versões ficam na tabela
+ * {@code collection_version}, compartilhada entre as instâncias: uma escrita em
+ * qualquer uma delas muda as ETags de todas. Cada instância lê a tabela inteira no
+ * máximo a cada {@code ayra.versions.refresh-ms}, então uma escrita feita em outra
+ * instância aparece aqui nesse prazo; as escritas locais aparecem na hora.
+ *
+ * Uma linha nasce com a versão igual ao instante da criação (ms). Um banco recriado
+ * (ex.: H2 em memória) não volta a usar versões que clientes ainda guardam em ETags.
+ */
+@Service
+public class CollectionVersions {
+
+    private record Version(long version, long lastModified) {}
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // O listener das entidades depende deste bean antes do EntityManagerFactory existir
+    @Lazy
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ayra.versions.refresh-ms:1000}")
+    private long refreshMillis;
+
+    private final ReentrantLock refreshing = new ReentrantLock();
+    private volatile Map<ResourceCollection, Version> versions = Map.of();
+    private volatile long loadedAt;
+
+    /**
+     * Incrementa a versão no banco, numa transação própria: é chamado depois do commit
+     * da escrita, quando a transação original não pode mais gravar nada.
+     */
+    public void bump(ResourceCollection collection) {
+        try {
+            Version updated = requiresNew().execute(status -> {
+                ensureRows();
+                jdbcTemplate.update("update collection_version set version = version + 1, "
+                        + "last_modified = greatest(last_modified, ?) where collection = ?",
+                        System.currentTimeMillis(), collection.name());
+                return jdbcTemplate.queryForObject("select version, last_modified from collection_version where collection = ?",
+                        (rs, i) -> new Version(rs.getLong(1), rs.getLong(2)), collection.name());
+            });
+            Map<ResourceCollection, Version> next = new EnumMap<>(ResourceCollection.class);
+            next.putAll(current());
+            next.merge(collection, updated, (old, fresh) -> fresh.version() > old.version() ? fresh : old);
+            versions = next;
+        } catch (Exception e) {
+            // A próxima leitura da tabela traz a versão; até lá esta instância pode responder 304 antigos
+            log.error("Falha ao incrementar a versão de {}", collection, e);
+        }
+    }
+
+    /** Versão da coleção somada às versões das coleções que ela embute. */
+    public long version(ResourceCollection collection) {
+        Map<ResourceCollection, Version> current = current();
+        long version = current.get(collection).version();
+        for (ResourceCollection embedded : collection.embedded()) {
+            version += current.get(embedded).version();
+        }
+        return version;
+    }
+
+    public long lastModified(ResourceCollection collection) {
+        Map<ResourceCollection, Version> current = current();
+        long last = current.get(collection).lastModified();
+        for (ResourceCollection embedded : collection.embedded()) {
+            last = Math.max(last, current.get(embedded).lastModified());
+        }
+        return last;
+    }
+
+    /** ETag forte para um recurso único (ex: getById, by-alert). */
+    public String strongEtag(ResourceCollection collection, Object id) {
+        return "\"" + collection.path() + "-" + id + "-" + version(collection) + "\"";
+    }
+
+    /** ETag fraca para uma página filtrada; as partes identificam filtro e paginação. */
+    public String weakEtag(ResourceCollection collection, Object... parts) {
+        return "W/\"" + collection.path() + "-" + Integer.toHexString(Objects.hash(parts))
+                + "-" + version(collection) + "\"";
+    }
+
+    // Relê a tabela quando a cópia local passou do prazo; só uma thread lê, as outras usam a cópia atual
+    private Map<ResourceCollection, Version> current() {
+        Map<ResourceCollection, Version> current = versions;
+        if (!current.isEmpty() && System.currentTimeMillis() - loadedAt < refreshMillis) {
+            return current;
+        }
+        if (current.isEmpty()) {
+            refreshing.lock();
+        } else if (!refreshing.tryLock()) {
+            return current;
+        }
+        try {
+            if (versions.isEmpty() || System.currentTimeMillis() - loadedAt >= refreshMillis) {
+                versions = load();
+                loadedAt = System.currentTimeMillis();
+            }
+        } catch (RuntimeException e) {
+            if (versions.isEmpty()) {
+                throw e;
+            }
+            // Sem banco, a cópia local segue valendo; tenta de novo no próximo prazo
+            loadedAt = System.currentTimeMillis();
+            log.warn("Falha ao ler as versões das coleções: {}", e.getMessage());
+        } finally {
+            refreshing.unlock();
+        }
+        return versions;
+    }
+
+    private Map<ResourceCollection, Version> load() {
+        ensureRows();
+        Map<ResourceCollection, Version> loaded = new EnumMap<>(ResourceCollection.class);
+        jdbcTemplate.query("select collection, version, last_modified from collection_version", rs -> {
+            loaded.put(ResourceCollection.valueOf(rs.getString(1)), new Version(rs.getLong(2), rs.getLong(3)));
+        });
+        // Uma versão lida antes de um incremento local não pode substituí-lo
+        versions.forEach((collection, local) -> loaded.merge(collection, local,
+                (shared, mine) -> mine.version() > shared.version() ? mine : shared));
+        return loaded;
+    }
+
+    // Cria as linhas que faltam; outra instância pode criá-las ao mesmo tempo
+    private void ensureRows() {
+        if (versions.size() == ResourceCollection.values().length) {
+            return;
+        }
+        List<String> existing = jdbcTemplate.queryForList("select collection from collection_version", String.class);
+        long now = System.currentTimeMillis();
+        for (ResourceCollection collection : ResourceCollection.values()) {
+            if (existing.contains(collection.name())) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update("insert into collection_version (collection, version, last_modified) values (?, ?, ?)",
+                        collection.name(), now, now);
+            } catch (DuplicateKeyException e) {
+                log.debug("Versão de {} criada por outra instância", collection);
+            }
+        }
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
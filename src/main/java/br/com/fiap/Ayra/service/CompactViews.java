@@ -0,0 +1,114 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel.PageMetadata;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.SafeRoutes;
+import br.com.fiap.Ayra.model.SafeTip;
+import br.com.fiap.Ayra.model.dto.CompactResponse;
+import br.com.fiap.Ayra.model.dto.CompactResponse.AlertItem;
+import br.com.fiap.Ayra.model.dto.CompactResponse.Included;
+import br.com.fiap.Ayra.model.dto.CompactResponse.MapMarkerItem;
+import br.com.fiap.Ayra.model.dto.CompactResponse.SafeLocationItem;
+import br.com.fiap.Ayra.model.dto.CompactResponse.SafeRoutesItem;
+import br.com.fiap.Ayra.model.dto.CompactResponse.SafeTipItem;
+
+/**
+ * Monta respostas {@link CompactResponse} a partir das entidades já carregadas.
+ *
+ * Na resposta normal, um Alert repete suas Coordinates dentro do MapMarker (em geral a
+ * mesma linha) e cada SafeRoutes/SafeLocation/SafeTip repete o Alert inteiro, com a
+ * descrição. Aqui cada entidade é serializada uma vez por resposta, então o tamanho e
+ * o custo de serialização caem na proporção da repetição.
+ */
+public final class CompactViews {
+
+    private final Map<Long, AlertItem> alerts = new LinkedHashMap<>();
+    private final Map<Long, MapMarkerItem> mapMarkers = new LinkedHashMap<>();
+    private final Map<Long, Coordinates> coordinates = new LinkedHashMap<>();
+
+    private CompactViews() {}
+
+    public static CompactResponse<AlertItem> alerts(Page<Alert> page) {
+        CompactViews views = new CompactViews();
+        List<AlertItem> content = page.getContent().stream().map(views::alertItem).toList();
+        // O próprio alerta já está em content: included traz só o que ele referencia
+        return new CompactResponse<>(content, new Included(Map.of(), views.mapMarkers, views.coordinates), metadata(page));
+    }
+
+    public static CompactResponse<SafeRoutesItem> safeRoutes(List<SafeRoutes> routes) {
+        return of(routes, null, (views, route) -> new SafeRoutesItem(route.getId(), route.getRoute(), views.alert(route.getAlert())));
+    }
+
+    public static CompactResponse<SafeRoutesItem> safeRoutes(Page<SafeRoutes> page) {
+        return of(page.getContent(), metadata(page), (views, route) -> new SafeRoutesItem(route.getId(), route.getRoute(), views.alert(route.getAlert())));
+    }
+
+    public static CompactResponse<SafeLocationItem> safeLocations(List<SafeLocation> locations) {
+        return of(locations, null, (views, location) -> new SafeLocationItem(location.getId(), location.getLocation(), location.getLatitude(), location.getLongitude(), views.alert(location.getAlert())));
+    }
+
+    public static CompactResponse<SafeLocationItem> safeLocations(Page<SafeLocation> page) {
+        return of(page.getContent(), metadata(page), (views, location) -> new SafeLocationItem(location.getId(), location.getLocation(), location.getLatitude(), location.getLongitude(), views.alert(location.getAlert())));
+    }
+
+    public static CompactResponse<SafeTipItem> safeTips(List<SafeTip> tips) {
+        return of(tips, null, (views, tip) -> new SafeTipItem(tip.getId(), tip.getTip(), views.alert(tip.getAlert())));
+    }
+
+    public static CompactResponse<SafeTipItem> safeTips(Page<SafeTip> page) {
+        return of(page.getContent(), metadata(page), (views, tip) -> new SafeTipItem(tip.getId(), tip.getTip(), views.alert(tip.getAlert())));
+    }
+
+    private interface ItemMapper<E, T> {
+        T map(CompactViews views, E entity);
+    }
+
+    private static <E, T> CompactResponse<T> of(List<E> entities, PageMetadata page, ItemMapper<E, T> mapper) {
+        CompactViews views = new CompactViews();
+        List<T> content = entities.stream().map(entity -> mapper.map(views, entity)).toList();
+        return new CompactResponse<>(content, new Included(views.alerts, views.mapMarkers, views.coordinates), page);
+    }
+
+    private static PageMetadata metadata(Page<?> page) {
+        return new PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+    }
+
+    private AlertItem alertItem(Alert alert) {
+        return new AlertItem(alert.getId(), alert.getTitle(), alert.getDescription(), alert.getIntensity(),
+                alert.getAlertDatetime(), alert.getExpiresAt(), alert.getStatus(), alert.getRiskScore(),
+                alert.getLocation(), alert.getRadius(),
+                coordinates(alert.getCoordinates()), mapMarker(alert.getMapMarker()));
+    }
+
+    private Long alert(Alert alert) {
+        return include(alerts, alert, Alert::getId, this::alertItem);
+    }
+
+    private Long mapMarker(MapMarker marker) {
+        return include(mapMarkers, marker, MapMarker::getId, m -> new MapMarkerItem(m.getId(), m.getTitle(),
+                m.getDescription(), m.getIntensity(), m.getRadius(), coordinates(m.getCoordinates())));
+    }
+
+    private Long coordinates(Coordinates coordinates) {
+        return include(this.coordinates, coordinates, Coordinates::getId, Function.identity());
+    }
+
+    private static <E, V> Long include(Map<Long, V> table, E entity, Function<E, Long> id, Function<E, V> item) {
+        if (entity == null) {
+            return null;
+        }
+        Long key = id.apply(entity);
+        table.computeIfAbsent(key, k -> item.apply(entity));
+        return key;
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+
+@Service
+public class CoordinatesService {
+
+    // Coordenadas a menos de ±0.0001 grau são consideradas o mesmo ponto
+    public static final double DEDUP_TOLERANCE = 0.0001;
+
+    @Autowired
+    private CoordinatesRepository coordinatesRepository;
+
+    /**
+     * Retorna a instância persistida das coordenadas recebidas, reaproveitando uma
+     * existente (pelo ID ou por proximidade geográfica) ou salvando uma nova.
+     *
+     * @param coordinates Coordenadas recebidas no JSON.
+     * @return A instância persistida.
+     */
+    public Coordinates resolve(Coordinates coordinates) {
+        return resolve(coordinates, () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Coordenadas não encontradas"));
+    }
+
+    /**
+     * Igual a {@link #resolve(Coordinates)}, mas com o erro que o chamador já lançava
+     * quando as coordenadas somem entre a verificação e a busca.
+     *
+     * @param coordinates Coordenadas recebidas no JSON.
+     * @param notFound Erro lançado se a instância existente não for encontrada.
+     * @return A instância persistida.
+     */
+    public Coordinates resolve(Coordinates coordinates, Supplier<? extends RuntimeException> notFound) {
+        boolean exists = false;
+
+        // Verifica se já existe pelo ID ou por proximidade geográfica
+        if (coordinates.getId() != null) {
+            exists = coordinatesRepository.existsById(coordinates.getId());
+        } else {
+            exists = !coordinatesRepository
+                .findByLatitudeBetweenAndLongitudeBetween(
+                    coordinates.getLatitude() - DEDUP_TOLERANCE,
+                    coordinates.getLatitude() + DEDUP_TOLERANCE,
+                    coordinates.getLongitude() - DEDUP_TOLERANCE,
+                    coordinates.getLongitude() + DEDUP_TOLERANCE)
+                .isEmpty();
+        }
+
+        // Se não existir, salva as coordenadas
+        if (!exists) {
+            return coordinatesRepository.save(coordinates); // Salva e obtém a instância persistida
+        }
+
+        // Se existir, busca a instância persistida no banco
+        return coordinatesRepository
+            .findByLatitudeBetweenAndLongitudeBetween(
+                coordinates.getLatitude() - DEDUP_TOLERANCE,
+                coordinates.getLatitude() + DEDUP_TOLERANCE,
+                coordinates.getLongitude() - DEDUP_TOLERANCE,
+                coordinates.getLongitude() + DEDUP_TOLERANCE)
+            .stream()
+            .findFirst()
+            .orElseThrow(notFound);
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.fiap.Ayra.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.Ayra.geo.BoundingBox;
+import br.com.fiap.Ayra.geo.GeoJsonWriter;
+import br.com.fiap.Ayra.model.dto.AlertFeature;
+import br.com.fiap.Ayra.model.dto.MapMarkerFeature;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+
+/**
+ * Gera /map-marker.geojson e /alert.geojson lendo um cursor do banco e escrevendo cada
+ * linha na saída assim que ela chega. As consultas projetam só as colunas do Feature
+ * (sem entidades nem descrições), então a memória usada não depende do número de linhas.
+ */
+@Service
+public class GeoJsonService {
+
+    @Autowired
+    private MapMarkerRepository mapMarkerRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // A transação mantém o cursor aberto enquanto a resposta é escrita
+    @Transactional(readOnly = true)
+    public long writeMapMarkers(BoundingBox bbox, String intensity, int precision, OutputStream out) throws IOException {
+        try (Stream<MapMarkerFeature> rows = mapMarkerRepository.streamFeatures(
+                    bbox.minLat(), bbox.maxLat(), bbox.minLon(), bbox.maxLon(), intensity);
+             GeoJsonWriter writer = new GeoJsonWriter(objectMapper.createGenerator(out), precision)) {
+            for (Iterator<MapMarkerFeature> it = rows.iterator(); it.hasNext();) {
+                MapMarkerFeature marker = it.next();
+                writer.feature(marker.id(), marker.latitude(), marker.longitude(), g -> {
+                    g.writeStringField("title", marker.title());
+                    g.writeStringField("intensity", marker.intensity());
+                    g.writeNumberField("radius", marker.radius());
+                });
+            }
+            writer.finish();
+            return writer.count();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long writeAlerts(BoundingBox bbox, String intensity, int precision, OutputStream out) throws IOException {
+        try (Stream<AlertFeature> rows = alertRepository.streamFeatures(
+                    bbox.minLat(), bbox.maxLat(), bbox.minLon(), bbox.maxLon(), intensity);
+             GeoJsonWriter writer = new GeoJsonWriter(objectMapper.createGenerator(out), precision)) {
+            for (Iterator<AlertFeature> it = rows.iterator(); it.hasNext();) {
+                AlertFeature alert = it.next();
+                writer.feature(alert.id(), alert.latitude(), alert.longitude(), g -> {
+                    g.writeStringField("title", alert.title());
+                    g.writeStringField("intensity", alert.intensity());
+                    // Mesmo formato de data das respostas JSON (configuração do Spring Boot)
+                    g.writePOJOField("alertDatetime", alert.alertDatetime());
+                    g.writeStringField("location", alert.location());
+                    g.writeNumberField("radius", alert.radius());
+                    g.writeNumberField("mapMarkerId", alert.mapMarkerId());
+                });
+            }
+            writer.finish();
+            return writer.count();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.Ayra.config.WebSocketProperties;
+import br.com.fiap.Ayra.geo.GeoCell;
+import br.com.fiap.Ayra.model.MapMarker;
+
+/**
+ * Publica marcadores novos nos tópicos das células geográficas que os contêm.
+ *
+ * Os envios são agrupados por célula e descarregados em intervalos fixos: vários
+ * marcadores criados na mesma célula viram uma única mensagem, e o mesmo marcador
+ * publicado duas vezes no intervalo é enviado apenas na versão mais recente.
+ */
+@Service
+@EnableConfigurationProperties(WebSocketProperties.class)
+public class MapMarkerBroadcaster {
+
+    public static final String TOPIC_PREFIX = "/topic/map-marker/";
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    // célula -> (id do marcador -> marcador), alterado apenas dentro de compute/remove
+    private final ConcurrentHashMap<String, Map<Long, MapMarker>> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private WebSocketProperties properties;
+
+    public static String topicFor(GeoCell cell) {
+        return TOPIC_PREFIX + cell.key();
+    }
+
+    /**
+     * Agenda o envio do marcador para a célula dona das suas coordenadas.
+     * Não bloqueia a requisição que criou o marcador.
+     */
+    public void publish(MapMarker marker) {
+        if (marker == null || marker.getId() == null || marker.getCoordinates() == null
+                || marker.getCoordinates().getLatitude() == null || marker.getCoordinates().getLongitude() == null) {
+            return;
+        }
+
+        String cell = GeoCell.of(marker.getCoordinates().getLatitude(), marker.getCoordinates().getLongitude()).key();
+        pending.compute(cell, (key, markers) -> {
+            if (markers == null) {
+                markers = new LinkedHashMap<>();
+            }
+            markers.put(marker.getId(), marker);
+            return markers;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${ayra.ws.flush-interval-ms:250}")
+    public void flush() {
+        for (String cell : pending.keySet()) {
+            Map<Long, MapMarker> markers = pending.remove(cell);
+            if (markers == null || markers.isEmpty()) {
+                continue;
+            }
+
+            List<MapMarker> batch = new ArrayList<>(markers.values());
+            int maxBatchSize = properties.getMaxBatchSize();
+            try {
+                for (int from = 0; from < batch.size(); from += maxBatchSize) {
+                    int to = Math.min(from + maxBatchSize, batch.size());
+                    messagingTemplate.convertAndSend(TOPIC_PREFIX + cell, batch.subList(from, to));
+                }
+            } catch (Exception e) {
+                log.warn("Falha ao publicar {} marcadores na célula {}: {}", batch.size(), cell, e.getMessage());
+            }
+        }
+    }
+}
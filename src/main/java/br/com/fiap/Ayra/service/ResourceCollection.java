@@ -0,0 +1,54 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.List;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.SafeRoutes;
+import br.com.fiap.Ayra.model.SafeTip;
+import br.com.fiap.Ayra.model.User;
+
+/**
+ * Coleções expostas pela API. Cada coleção lista as coleções que ela embute na
+ * resposta (ex: um Alert serializa suas Coordinates e seu MapMarker), para que a
+ * versão combinada mude quando qualquer dado serializado mudar.
+ */
+public enum ResourceCollection {
+
+    COORDINATES("coordinates"),
+    MAP_MARKER("map-marker", COORDINATES),
+    ALERT("alert", COORDINATES, MAP_MARKER),
+    SAFE_ROUTES("safe-routes", ALERT, COORDINATES, MAP_MARKER),
+    SAFE_LOCATION("safe-location", ALERT, COORDINATES, MAP_MARKER),
+    SAFE_TIP("safe-tip", ALERT, COORDINATES, MAP_MARKER),
+    USER("users", COORDINATES);
+
+    private final String path;
+    private final List<ResourceCollection> embedded;
+
+    ResourceCollection(String path, ResourceCollection... embedded) {
+        this.path = path;
+        this.embedded = List.of(embedded);
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public List<ResourceCollection> embedded() {
+        return embedded;
+    }
+
+    public static ResourceCollection of(Object entity) {
+        if (entity instanceof Alert) return ALERT;
+        if (entity instanceof MapMarker) return MAP_MARKER;
+        if (entity instanceof Coordinates) return COORDINATES;
+        if (entity instanceof SafeRoutes) return SAFE_ROUTES;
+        if (entity instanceof SafeLocation) return SAFE_LOCATION;
+        if (entity instanceof SafeTip) return SAFE_TIP;
+        if (entity instanceof User) return USER;
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Agrupa leituras idênticas simultâneas numa única consulta.
+ *
+ * Quando um alerta é emitido, milhares de clientes pedem a mesma listagem ao mesmo
+ * tempo. A primeira requisição de uma chave executa a consulta; as que chegam enquanto
+ * ela está em andamento esperam e recebem o mesmo resultado, em vez de repetir a
+ * consulta no banco. Nada fica guardado depois que a consulta termina.
+ *
+ * A chave inclui a versão da coleção: quem chega depois de uma escrita confirmada
+ * nunca recebe um resultado lido antes dela. Quem espera mais que {@code max-wait-ms}
+ * desiste e consulta sozinho.
+ */
+@Service
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ayra.single-flight.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ayra.single-flight.max-wait-ms:5000}")
+    private long maxWaitMillis;
+
+    /**
+     * Executa {@code loader} uma vez por página de {@code collection} com o mesmo filtro
+     * e paginação. O filtro deve ser um record (ou ter {@code toString} por valor), já
+     * que a chave usa sua representação textual.
+     */
+    public <T> T load(ResourceCollection collection, Object filter, Pageable pageable, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = collection.path() + "|" + versions.version(collection) + "|" + filter + "|" + pageable;
+        return execute(collection, key, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(ResourceCollection collection, String key, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            try {
+                T value = (T) leader.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+                count(collection, "shared");
+                return value;
+            } catch (TimeoutException e) {
+                count(collection, "timeout");
+                return loader.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrompido aguardando consulta em andamento", e);
+            } catch (ExecutionException e) {
+                // Quem espera recebe o mesmo erro da consulta original
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        count(collection, "leader");
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void count(ResourceCollection collection, String result) {
+        meterRegistry.counter("ayra.single-flight", "collection", collection.path(), "result", result).increment();
+    }
+}
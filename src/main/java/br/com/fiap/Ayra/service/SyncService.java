@@ -0,0 +1,117 @@
+package br.com.fiap.Ayra.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.model.SafeRoutes;
+import br.com.fiap.Ayra.model.SafeTip;
+import br.com.fiap.Ayra.model.dto.SyncResponse;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.repository.ChangeLogRepository;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+import br.com.fiap.Ayra.repository.SafeLocationRepository;
+import br.com.fiap.Ayra.repository.SafeRoutesRepository;
+import br.com.fiap.Ayra.repository.SafeTipRepository;
+
+@Service
+public class SyncService {
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private MapMarkerRepository mapMarkerRepository;
+
+    @Autowired
+    private SafeRoutesRepository safeRoutesRepository;
+
+    @Autowired
+    private SafeLocationRepository safeLocationRepository;
+
+    @Autowired
+    private SafeTipRepository safeTipRepository;
+
+    @Value("${ayra.sync.max-limit:2000}")
+    private int maxLimit;
+
+    /**
+     * Retorna as linhas alteradas depois de {@code since}, uma vez cada, na versão
+     * atual. Linhas removidas são listadas apenas pelo ID em {@code deleted}.
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(long since, int limit) {
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        // As versões são atribuídas em ordem de commit (ChangeLogStamper): nada menor que a
+        // maior versão já entregue aparece depois
+        List<ChangeLog> entries = changeLogRepository.findByVersionGreaterThanOrderByVersionAsc(since, PageRequest.ofSize(size));
+
+        // Mantém apenas a última operação de cada linha
+        Map<ResourceCollection, Map<Long, Operation>> latest = new EnumMap<>(ResourceCollection.class);
+        long version = since;
+        for (ChangeLog entry : entries) {
+            latest.computeIfAbsent(ResourceCollection.valueOf(entry.getEntity()), c -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.getOperation());
+            version = Math.max(version, entry.getVersion());
+        }
+
+        Map<String, List<Long>> deleted = new LinkedHashMap<>();
+        return new SyncResponse(
+                version,
+                entries.size() == size,
+                load(ResourceCollection.ALERT, latest, alertRepository, Alert::getId, deleted),
+                load(ResourceCollection.MAP_MARKER, latest, mapMarkerRepository, MapMarker::getId, deleted),
+                load(ResourceCollection.SAFE_ROUTES, latest, safeRoutesRepository, SafeRoutes::getId, deleted),
+                load(ResourceCollection.SAFE_LOCATION, latest, safeLocationRepository, SafeLocation::getId, deleted),
+                load(ResourceCollection.SAFE_TIP, latest, safeTipRepository, SafeTip::getId, deleted),
+                deleted);
+    }
+
+    private <T> List<T> load(ResourceCollection collection,
+                             Map<ResourceCollection, Map<Long, Operation>> latest,
+                             JpaRepository<T, Long> repository,
+                             Function<T, Long> idOf,
+                             Map<String, List<Long>> deleted) {
+        Map<Long, Operation> changes = latest.get(collection);
+        if (changes == null) {
+            return List.of();
+        }
+
+        Set<Long> removed = new LinkedHashSet<>();
+        List<Long> upserted = new ArrayList<>();
+        changes.forEach((id, operation) -> (operation == Operation.DELETE ? removed : upserted).add(id));
+
+        // Uma única consulta por coleção; IDs que não existem mais foram removidos depois
+        List<T> rows = upserted.isEmpty() ? List.of() : repository.findAllById(upserted);
+        if (rows.size() < upserted.size()) {
+            Set<Long> missing = new LinkedHashSet<>(upserted);
+            rows.forEach(row -> missing.remove(idOf.apply(row)));
+            removed.addAll(missing);
+        }
+
+        if (!removed.isEmpty()) {
+            deleted.put(collection.path(), new ArrayList<>(removed));
+        }
+        return rows;
+    }
+}
@@ -2,6 +2,7 @@ package br.com.fiap.Ayra.specification;
 
 import br.com.fiap.Ayra.controller.AlertController.AlertFilter;
 import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ArchivedAlert;
 import org.springframework.data.jpa.domain.Specification;
 
 import jakarta.persistence.criteria.Predicate;
@@ -14,10 +15,22 @@ import java.util.List;
 
 public class AlertSpecification {
 
+    /** Campos aceitos em GET /alert?fields=... */
+    public static final List<String> FIELDS = List.of(
+            "id", "title", "description", "intensity", "alertDatetime", "expiresAt", "status", "location", "radius",
+            "coordinates.id", "coordinates.latitude", "coordinates.longitude", "coordinates.dateCoordinate",
+            "mapMarker.id", "mapMarker.title", "mapMarker.description", "mapMarker.intensity", "mapMarker.radius");
+
     public static Specification<Alert> withFilters(AlertFilter filter) {
         return (Root<Alert> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
+            // Sem status, só os alertas em vigor; "all" inclui o histórico
+            String status = filter == null || filter.status() == null ? "active" : filter.status();
+            if (!"all".equals(status)) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+
             if (filter != null) {
                 if (filter.intensity() != null && !filter.intensity().isBlank()) {
                     predicates.add(cb.equal(root.get("intensity"), filter.intensity()));
@@ -36,9 +49,66 @@ public class AlertSpecification {
 
                     predicates.add(cb.and(latPredicate, lonPredicate));
                 }
+
+                addRange(predicates, root, cb, filter);
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /** Os mesmos filtros sobre {@code alert_archive}, onde as coordenadas são colunas do próprio alerta. */
+    public static Specification<ArchivedAlert> archived(AlertFilter filter) {
+        return (Root<ArchivedAlert> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.intensity() != null && !filter.intensity().isBlank()) {
+                predicates.add(cb.equal(root.get("intensity"), filter.intensity()));
+            }
+
+            if (filter.latitude() != null && filter.longitude() != null) {
+                predicates.add(cb.between(root.get("latitude"), filter.latitude() - 0.01, filter.latitude() + 0.01));
+                predicates.add(cb.between(root.get("longitude"), filter.longitude() - 0.01, filter.longitude() + 0.01));
+            }
+
+            addRange(predicates, root, cb, filter);
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Intervalo de alertDatetime: from inclusivo, to exclusivo
+    private static void addRange(List<Predicate> predicates, Root<?> root, CriteriaBuilder cb, AlertFilter filter) {
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("alertDatetime"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(root.get("alertDatetime"), filter.to()));
+        }
+    }
+
+    /**
+     * Os mesmos filtros de intensidade, proximidade e data de {@link #withFilters}, aplicados
+     * em memória ao conjunto de alertas ativos. O status não é testado aqui.
+     */
+    public static java.util.function.Predicate<Alert> matching(AlertFilter filter) {
+        return alert -> {
+            if (filter == null) {
+                return true;
+            }
+            if (filter.intensity() != null && !filter.intensity().isBlank() && !filter.intensity().equals(alert.getIntensity())) {
+                return false;
+            }
+            if (filter.latitude() != null && filter.longitude() != null) {
+                Double latitude = alert.getCoordinates().getLatitude();
+                Double longitude = alert.getCoordinates().getLongitude();
+                if (latitude == null || longitude == null
+                        || latitude < filter.latitude() - 0.01 || latitude > filter.latitude() + 0.01
+                        || longitude < filter.longitude() - 0.01 || longitude > filter.longitude() + 0.01) {
+                    return false;
+                }
+            }
+            return (filter.from() == null || !alert.getAlertDatetime().isBefore(filter.from()))
+                    && (filter.to() == null || alert.getAlertDatetime().isBefore(filter.to()));
+        };
+    }
 }
\ No newline at end of file
@@ -6,24 +6,43 @@ import java.util.List;
 import org.springframework.data.jpa.domain.Specification;
 
 import br.com.fiap.Ayra.controller.CoordinatesController.CoordinatesFilter;
+import br.com.fiap.Ayra.model.ArchivedCoordinates;
 import br.com.fiap.Ayra.model.Coordinates;
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 public class CoordinatesSpecification {
 
     public static Specification<Coordinates> withFilters(CoordinatesFilter filter) {
-        return (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
+        return (root, query, cb) -> predicate(root, cb, filter);
+    }
+
+    /** Os mesmos filtros sobre {@code coordinates_archive}, que tem as mesmas colunas. */
+    public static Specification<ArchivedCoordinates> archived(CoordinatesFilter filter) {
+        return (root, query, cb) -> predicate(root, cb, filter);
+    }
+
+    private static Predicate predicate(Root<?> root, CriteriaBuilder cb, CoordinatesFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.latitude() != null) {
+            // Filtra por proximidade (ex: ±0.01 graus)
+            predicates.add(cb.between(root.get("latitude"), filter.latitude() - 0.01, filter.latitude() + 0.01));
+        }
+
+        if (filter.longitude() != null) {
+            predicates.add(cb.between(root.get("longitude"), filter.longitude() - 0.01, filter.longitude() + 0.01));
+        }
 
-            if (filter.latitude() != null) {
-                // Filtra por proximidade (ex: ±0.01 graus)
-                predicates.add(cb.between(root.get("latitude"), filter.latitude() - 0.01, filter.latitude() + 0.01));
-            }
+        // Intervalo de dateCoordinate, com as duas pontas inclusivas
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("dateCoordinate"), filter.from()));
+        }
 
-            if (filter.longitude() != null) {
-                predicates.add(cb.between(root.get("longitude"), filter.longitude() - 0.01, filter.longitude() + 0.01));
-            }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("dateCoordinate"), filter.to()));
+        }
 
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
+        return cb.and(predicates.toArray(new Predicate[0]));
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,11 @@ import jakarta.persistence.criteria.Predicate;
 
 public class MapMarkerSpecification {
 
+    /** Campos aceitos em GET /map-marker?fields=... */
+    public static final List<String> FIELDS = List.of(
+            "id", "title", "description", "intensity", "radius",
+            "coordinates.id", "coordinates.latitude", "coordinates.longitude", "coordinates.dateCoordinate");
+
     public static Specification<MapMarker> withFilters(MapMarkerFilter filter) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -0,0 +1,113 @@
+package br.com.fiap.Ayra.specification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Listagem com campos escolhidos pelo cliente ({@code ?fields=title,coordinates.latitude}).
+ *
+ * Os campos viram um {@code select} de colunas (Tuple) com a mesma Specification do
+ * endpoint, então o banco lê só essas colunas e só faz os joins que elas exigem (ex:
+ * {@code coordinates.latitude} junta coordinates; {@code coordinates.id} usa a chave
+ * estrangeira). Nenhuma entidade é carregada. Os campos aceitos são os de
+ * {@code allowed}; um prefixo ({@code coordinates}) seleciona todos os campos abaixo dele.
+ */
+public final class SparseFields {
+
+    private SparseFields() {}
+
+    /** Valida e expande {@code fields}; o {@code id} é sempre incluído. */
+    public static List<String> resolve(String fields, List<String> allowed) {
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            List<String> matches = allowed.stream()
+                    .filter(path -> path.equals(name) || path.startsWith(name + "."))
+                    .toList();
+            if (matches.isEmpty()) {
+                throw new IllegalArgumentException("Campo desconhecido: " + name + ". Campos aceitos: " + String.join(", ", allowed));
+            }
+            paths.addAll(matches);
+        }
+        return List.copyOf(paths);
+    }
+
+    public static <T> Page<Map<String, Object>> findAll(EntityManager entityManager, Class<T> type,
+            JpaSpecificationExecutor<T> repository, Specification<T> spec, List<String> paths, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            selections.add(path(root, path).alias(path));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> content = typed.getResultList().stream()
+                .map(tuple -> toMap(tuple, paths))
+                .toList();
+        // Conta só quando a página não basta para saber o total
+        return PageableExecutionUtils.getPage(content, pageable, () -> repository.count(spec));
+    }
+
+    private static Path<?> path(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String part : path.split("\\.")) {
+            current = current.get(part);
+        }
+        return current;
+    }
+
+    // "coordinates.latitude" vira {"coordinates": {"latitude": ...}}, como na entidade
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(Tuple tuple, List<String> paths) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String path : paths) {
+            Map<String, Object> target = row;
+            String[] parts = path.split("\\.");
+            for (int i = 0; i < parts.length - 1; i++) {
+                target = (Map<String, Object>) target.computeIfAbsent(parts[i], k -> new LinkedHashMap<>());
+            }
+            target.put(parts[parts.length - 1], tuple.get(path));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Só {@code /actuator/health} é público; o resto do Actuator exige a conta de coleta,
+ * mesmo para usuários cadastrados (qualquer um pode se cadastrar por {@code POST /users}).
+ */
+@SpringBootTest(properties = "ayra.actuator.password=coleta123")
+@AutoConfigureMockMvc
+class ActuatorAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void onlyTheScraperAccountReadsMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        // O registro Prometheus fica desligado nos testes; /actuator/metrics segue a mesma regra
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("prometheus:coleta123")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("prometheus:errada")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void registeredUsersCannotReachTheActuator() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("joao@example.com:senha123")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/sqlstats").header(HttpHeaders.AUTHORIZATION, basic("joao@example.com:senha123")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/sqlstats").header(HttpHeaders.AUTHORIZATION, basic("joao@example.com:senha123")))
+                .andExpect(status().isForbidden());
+    }
+
+    private static String basic(String credentials) {
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+}
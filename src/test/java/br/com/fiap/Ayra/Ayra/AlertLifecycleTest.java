@@ -0,0 +1,154 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.fiap.Ayra.controller.AlertController.AlertFilter;
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+
+/**
+ * O conjunto ativo pagina como o banco, um alerta vencido sai dele e vira
+ * {@code expired} no banco sem nenhuma requisição, escritas de outras instâncias e
+ * anteriores à primeira carga chegam a ele, e recarregar sem mudanças não muda a versão.
+ */
+@SpringBootTest
+class AlertLifecycleTest {
+
+    @Autowired
+    private AlertLifecycle lifecycle;
+
+    @Autowired
+    private AlertRepository alerts;
+
+    @Autowired
+    private CoordinatesRepository coordinates;
+
+    @Autowired
+    private MapMarkerRepository markers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesLikeTheDatabase() {
+        List<Long> expected = alerts.findByStatus(AlertLifecycle.ACTIVE).stream()
+                .map(Alert::getId)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        assertThat(expected).hasSizeGreaterThan(2);
+        AlertFilter all = new AlertFilter(null, null, null, null, null, null);
+
+        Page<Alert> page = lifecycle.page(all, PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getTotalElements()).isEqualTo(expected.size());
+        assertThat(page.getContent()).extracting(Alert::getId).containsExactlyElementsOf(expected.subList(1, 2));
+        assertThat(lifecycle.page(new AlertFilter("high", null, null, null, null, null), PageRequest.of(0, 10)).getContent())
+                .isNotEmpty()
+                .allMatch(alert -> "high".equals(alert.getIntensity()));
+    }
+
+    @Test
+    void dueAlertLeavesTheActiveSet() throws Exception {
+        Coordinates where = coordinates.save(Coordinates.builder()
+                .latitude(-23.5).longitude(-46.6).dateCoordinate(LocalDate.now()).build());
+        MapMarker marker = markers.save(MapMarker.builder().title("Alagamento").description("Teste de validade")
+                .intensity("low").radius(50.0).coordinates(where).build());
+        // Sem expiresAt: o AlertValidityListener soma a validade de low (6 h), que vence em 2 s
+        Alert alert = alerts.save(Alert.builder().title("Alagamento").description("Teste de validade").intensity("low")
+                .alertDatetime(ZonedDateTime.now().minus(Duration.ofHours(6)).plusSeconds(2))
+                .location("Centro").radius(50.0).coordinates(where).mapMarker(marker).build());
+
+        assertThat(alert.getStatus()).isEqualTo(AlertLifecycle.ACTIVE);
+        assertThat(alert.getExpiresAt()).isEqualTo(alert.getAlertDatetime().plusHours(6));
+        assertThat(lifecycle.active()).extracting(Alert::getId).contains(alert.getId());
+        long version = lifecycle.version();
+
+        for (int i = 0; i < 100 && active(alert.getId()); i++) {
+            Thread.sleep(100);
+        }
+
+        assertThat(active(alert.getId())).isFalse();
+        assertThat(lifecycle.version()).isGreaterThan(version);
+        assertThat(alerts.findById(alert.getId()).orElseThrow().getStatus()).isEqualTo(AlertLifecycle.EXPIRED);
+    }
+
+    @Test
+    void writeOnAnotherInstanceReachesTheActiveSet() throws Exception {
+        MapMarker marker = marker();
+        // O que outra instância grava: a linha e, depois do commit, a versão compartilhada
+        jdbcTemplate.update("insert into alert (title, description, intensity, alert_datetime, expires_at, status, "
+                + "location, radius, coordinates_id, id_map) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                "Deslizamento", "Gravado por outra instância", "medium", Timestamp.from(Instant.now()),
+                Timestamp.from(Instant.now().plus(Duration.ofHours(12))), AlertLifecycle.ACTIVE, "Morro",
+                30.0, marker.getCoordinates().getId(), marker.getId());
+        Long id = jdbcTemplate.queryForObject("select max(id_alert) from alert", Long.class);
+        jdbcTemplate.update("update collection_version set version = version + 1 where collection = 'ALERT'");
+
+        // Releitura das versões (1 s) e o tick seguinte
+        for (int i = 0; i < 50 && lifecycle.snapshot().stream().noneMatch(alert -> alert.getId().equals(id)); i++) {
+            Thread.sleep(100);
+        }
+
+        assertThat(lifecycle.snapshot()).extracting(Alert::getId).contains(id);
+    }
+
+    @Test
+    void eventsBeforeTheFirstLoadAreKept() {
+        MapMarker marker = marker();
+        ReflectionTestUtils.setField(lifecycle, "loaded", false);
+        try {
+            Alert alert = alerts.save(Alert.builder().title("Queda de árvore").description("Antes da carga").intensity("low")
+                    .alertDatetime(ZonedDateTime.now()).location("Centro").radius(10.0)
+                    .coordinates(marker.getCoordinates()).mapMarker(marker).build());
+
+            assertThat(lifecycle.snapshot()).extracting(Alert::getId).contains(alert.getId());
+        } finally {
+            ReflectionTestUtils.setField(lifecycle, "loaded", true);
+        }
+    }
+
+    @Test
+    void reloadWithoutChangesKeepsTheVersion() {
+        lifecycle.reload();
+        long version = lifecycle.version();
+
+        lifecycle.reload();
+
+        // As rotas de evacuação remarcam o grafo a cada versão nova
+        assertThat(lifecycle.version()).isEqualTo(version);
+    }
+
+    // Cada alerta tem o seu marcador
+    private MapMarker marker() {
+        Coordinates where = coordinates.save(Coordinates.builder()
+                .latitude(-23.52).longitude(-46.62).dateCoordinate(LocalDate.now()).build());
+        return markers.save(MapMarker.builder().title("Marcador").description("Teste do conjunto ativo")
+                .intensity("medium").radius(30.0).coordinates(where).build());
+    }
+
+    private boolean active(Long id) {
+        return lifecycle.active().stream().anyMatch(alert -> alert.getId().equals(id));
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.fiap.Ayra.archive.ArchiveService;
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+
+/**
+ * Alertas expirados além do horizonte saem para {@code alert_archive}, e uma listagem
+ * cujo {@code from} alcança o arquivo intercala as duas tabelas pela data, mesmo com a
+ * tabela quente guardando um alerta em vigor mais antigo que os arquivados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchiveTest {
+
+    // Bem antes dos dados do seeder, para que só os alertas deste teste caiam no intervalo
+    private static final ZonedDateTime START = ZonedDateTime.now().minusDays(1000).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    private ArchiveService archive;
+
+    @Autowired
+    private AlertRepository alerts;
+
+    @Autowired
+    private CoordinatesRepository coordinates;
+
+    @Autowired
+    private MapMarkerRepository markers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Alert older;
+    private Alert stillActive;
+    private Alert newer;
+
+    @BeforeAll
+    void archiveTwoOfThree() {
+        older = alert(START.plusDays(1), AlertLifecycle.EXPIRED, START.plusDays(2));
+        stillActive = alert(START.plusDays(2), AlertLifecycle.ACTIVE, ZonedDateTime.now().plusDays(1));
+        newer = alert(START.plusDays(3), AlertLifecycle.EXPIRED, START.plusDays(4));
+
+        ReflectionTestUtils.setField(archive, "ready", true);
+        archive.archive();
+    }
+
+    @Test
+    void expiredAlertsLeaveTheHotTable() {
+        assertThat(alerts.findById(older.getId())).isEmpty();
+        assertThat(alerts.findById(newer.getId())).isEmpty();
+        assertThat(alerts.findById(stillActive.getId())).isPresent();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from alert_archive where id_alert in (?, ?)",
+                Integer.class, older.getId(), newer.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void pagesInterleaveBothPartitionsByDate() throws Exception {
+        // O padrão sort=id,desc vira data decrescente; a ordem certa põe o ativo entre os dois arquivados
+        Long[] expected = { newer.getId(), stillActive.getId(), older.getId() };
+        for (int page = 0; page < expected.length; page++) {
+            mockMvc.perform(get("/alert").param("status", "all").param("from", START.toInstant().toString())
+                            .param("to", START.plusDays(10).toInstant().toString())
+                            .param("size", "1").param("page", String.valueOf(page)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(3))
+                    .andExpect(jsonPath("$.content[0].id").value(expected[page]));
+        }
+
+        mockMvc.perform(get("/alert").param("status", "all").param("from", START.toInstant().toString())
+                        .param("to", START.plusDays(10).toInstant().toString()).param("sort", "alertDatetime,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id").value(contains(
+                        older.getId().intValue(), stillActive.getId().intValue(), newer.getId().intValue())));
+    }
+
+    @Test
+    void unmergeableRequestsAreRejected() throws Exception {
+        String from = START.toInstant().toString();
+
+        mockMvc.perform(get("/alert").param("status", "all").param("from", from).param("sort", "intensity,asc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/alert").param("status", "all").param("from", from).param("fields", "title"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Alert alert(ZonedDateTime when, String status, ZonedDateTime expiresAt) {
+        Coordinates where = coordinates.save(Coordinates.builder()
+                .latitude(-23.53).longitude(-46.63).dateCoordinate(LocalDate.now()).build());
+        MapMarker marker = markers.save(MapMarker.builder().title("Marcador").description("Teste do arquivo")
+                .intensity("low").radius(20.0).coordinates(where).build());
+        return alerts.save(Alert.builder().title("Enchente").description("Teste do arquivo").intensity("low")
+                .alertDatetime(when).expiresAt(expiresAt).status(status).location("Várzea").radius(20.0)
+                .coordinates(where).mapMarker(marker).build());
+    }
+}
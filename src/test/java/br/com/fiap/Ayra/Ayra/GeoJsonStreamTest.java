@@ -0,0 +1,77 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+
+/**
+ * {@code /map-marker.geojson} escreve, a partir do cursor, um Feature por marcador da área.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class GeoJsonStreamTest {
+
+    private static final String SAO_PAULO = "-46.9,-23.8,-46.3,-23.3";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MapMarkerRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsEveryMarkerInsideTheBox() throws Exception {
+        long expected = repository.findAll().stream()
+                .map(MapMarker::getCoordinates)
+                .filter(c -> c.getLongitude() >= -46.9 && c.getLongitude() <= -46.3
+                        && c.getLatitude() >= -23.8 && c.getLatitude() <= -23.3)
+                .count();
+
+        JsonNode collection = read("/map-marker.geojson?bbox=" + SAO_PAULO + "&precision=3");
+
+        assertThat(collection.get("type").asText()).isEqualTo("FeatureCollection");
+        assertThat(collection.get("features")).hasSize((int) expected).isNotEmpty();
+        for (JsonNode feature : collection.get("features")) {
+            double longitude = feature.at("/geometry/coordinates/0").asDouble();
+            assertThat(longitude).isBetween(-46.9, -46.3);
+            // 3 casas decimais
+            assertThat(Math.abs(longitude * 1000 - Math.rint(longitude * 1000))).isLessThan(1e-6);
+            assertThat(feature.at("/properties/title").isTextual()).isTrue();
+        }
+    }
+
+    @Test
+    void emptyBoxIsAnEmptyCollection() throws Exception {
+        assertThat(read("/map-marker.geojson?bbox=10,10,11,11").get("features")).isEmpty();
+    }
+
+    @Test
+    void rejectsNaNAndOutOfRangeParameters() throws Exception {
+        mockMvc.perform(get("/map-marker.geojson").param("bbox", "NaN,-23.8,-46.3,-23.3"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/alert.geojson").param("precision", "8"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode read(String uri) throws Exception {
+        byte[] body = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readTree(body);
+    }
+}
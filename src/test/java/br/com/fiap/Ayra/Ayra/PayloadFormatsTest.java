@@ -0,0 +1,73 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * O {@code Accept} escolhe entre JSON, CBOR e Smile com o mesmo conteúdo, e as
+ * respostas avisam os caches com {@code Vary: Accept}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PayloadFormatsTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void wildcardAndMissingAcceptStayJson() throws Exception {
+        mockMvc.perform(get("/map-marker/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/map-marker/1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void binaryFormatsCarryTheJsonFields() throws Exception {
+        JsonNode json = read(new ObjectMapper(), "/map-marker/1", MediaType.APPLICATION_JSON);
+
+        assertThat(read(new ObjectMapper(new CBORFactory()), "/map-marker/1", MediaType.APPLICATION_CBOR))
+                .isEqualTo(json);
+        assertThat(read(new ObjectMapper(new SmileFactory()), "/map-marker/1", SMILE)).isEqualTo(json);
+    }
+
+    @Test
+    void cachedPagesKeepTheirFormat() throws Exception {
+        String uri = "/alert?size=2";
+        mockMvc.perform(get(uri).accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+        mockMvc.perform(get(uri).accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+
+        JsonNode page = read(new ObjectMapper(new CBORFactory()), uri, MediaType.APPLICATION_CBOR);
+        assertThat(page.get("content")).hasSize(2);
+    }
+
+    private JsonNode read(ObjectMapper mapper, String uri, MediaType type) throws Exception {
+        byte[] body = mockMvc.perform(get(uri).accept(type))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(type))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readTree(body);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import br.com.fiap.Ayra.config.ResponseCacheFilter;
+
+/**
+ * Acertos do {@link ResponseCacheFilter} repetem os cabeçalhos de validação, só o que
+ * está guardado conta como acerto, e o aquecimento passa direto pelo cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseCacheTest {
+
+    private static final String URI = "/map-marker?size=3&intensity=high";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResponseCacheFilter filter;
+
+    @Test
+    void hitReplaysLastModified() throws Exception {
+        MvcResult miss = mockMvc.perform(get(URI)).andExpect(status().isOk()).andReturn();
+        String lastModified = miss.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get(URI))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, lastModified))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        mockMvc.perform(get(URI).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"));
+    }
+
+    @Test
+    void hitIsOnlyReportedForStoredResponses() throws Exception {
+        String uri = "/alert?size=2&intensity=low";
+        MockHttpServletRequest probe = new MockHttpServletRequest("GET", "/alert");
+        probe.setParameter("size", "2");
+        probe.setParameter("intensity", "low");
+        probe.addHeader(HttpHeaders.IF_NONE_MATCH, "x");
+        assertThat(filter.hit(probe)).isFalse();
+
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        MockHttpServletRequest stored = new MockHttpServletRequest("GET", "/alert");
+        stored.setParameter("size", "2");
+        stored.setParameter("intensity", "low");
+        assertThat(filter.hit(stored)).isTrue();
+        assertThat(filter.hit(new MockHttpServletRequest("GET", "/alert/1"))).isFalse();
+    }
+
+    @Test
+    void warmupTokenBypassesTheCache() throws Exception {
+        mockMvc.perform(get(URI)).andExpect(status().isOk());
+
+        mockMvc.perform(get(URI).header(ResponseCacheFilter.BYPASS_HEADER, filter.bypassToken()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ResponseCacheFilter.CACHE_HEADER));
+        mockMvc.perform(get(URI).header(ResponseCacheFilter.BYPASS_HEADER, "qualquer"))
+                .andExpect(header().string(ResponseCacheFilter.CACHE_HEADER, "HIT"));
+    }
+}
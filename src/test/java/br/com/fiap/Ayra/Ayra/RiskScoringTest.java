@@ -0,0 +1,110 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.repository.AlertRepository;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+import br.com.fiap.Ayra.risk.MarkerDensity;
+import br.com.fiap.Ayra.service.ChangeLogStamper;
+
+/**
+ * Um marcador novo perto de um alerta ativo aumenta o rank dele no banco e no
+ * conjunto em memória, que recebe uma cópia em vez de ter a instância alterada.
+ * Marcadores gravados por outra instância chegam à grade pelo change_log.
+ */
+@SpringBootTest
+class RiskScoringTest {
+
+    @Autowired
+    private AlertLifecycle lifecycle;
+
+    @Autowired
+    private AlertRepository alerts;
+
+    @Autowired
+    private CoordinatesRepository coordinates;
+
+    @Autowired
+    private MapMarkerRepository markers;
+
+    @Autowired
+    private MarkerDensity density;
+
+    @Autowired
+    private ChangeLogStamper stamper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void nearbyMarkerRescoresTheAlert() throws Exception {
+        Alert before = lifecycle.active().stream()
+                .filter(alert -> alert.getRiskRank() != null)
+                .findFirst().orElseThrow();
+
+        Coordinates near = coordinates.save(Coordinates.builder()
+                .latitude(before.getCoordinates().getLatitude())
+                .longitude(before.getCoordinates().getLongitude())
+                .dateCoordinate(LocalDate.now())
+                .build());
+        markers.save(MapMarker.builder().title("Árvore caída").description("Teste de risco")
+                .intensity("low").radius(10.0).coordinates(near).build());
+
+        // O recálculo roda depois do commit, na thread do RiskScorer
+        Alert after = before;
+        for (int i = 0; i < 100 && after == before; i++) {
+            Thread.sleep(50);
+            after = lifecycle.active().stream().filter(alert -> alert.getId().equals(before.getId())).findFirst().orElseThrow();
+        }
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getRiskRank()).isGreaterThan(before.getRiskRank());
+        assertThat(alerts.findById(before.getId()).orElseThrow().getRiskRank()).isEqualTo(after.getRiskRank());
+    }
+
+    @Test
+    void markerWrittenByAnotherInstanceMovesTheGrid() throws Exception {
+        Coordinates far = coordinates.save(Coordinates.builder()
+                .latitude(10.005).longitude(10.005).dateCoordinate(LocalDate.now()).build());
+        assertThat(density.around(10.005, 10.005)).isZero();
+
+        // O que outra instância grava: o marcador, a entrada do change_log e, após o commit, a numeração
+        jdbcTemplate.update("insert into map_marker (title, description, intensity, radius, id_cor) values (?, ?, ?, ?, ?)",
+                "Poste caído", "Gravado por outra instância", "low", 5.0, far.getId());
+        Long id = jdbcTemplate.queryForObject("select max(id_maker) from map_marker", Long.class);
+        changeLog(id, "INSERT");
+        awaitAround(1);
+
+        jdbcTemplate.update("delete from map_marker where id_maker = ?", id);
+        changeLog(id, "DELETE");
+        awaitAround(0);
+    }
+
+    private void changeLog(Long markerId, String operation) {
+        jdbcTemplate.update("insert into change_log (entity, entity_id, operation, changed_at) values ('MAP_MARKER', ?, ?, ?)",
+                markerId, operation, Timestamp.from(Instant.now()));
+        stamper.stamp();
+    }
+
+    // A grade lê o change_log a cada ayra.risk.sync-ms (1 s)
+    private void awaitAround(int expected) throws InterruptedException {
+        for (int i = 0; i < 50 && density.around(10.005, 10.005) != expected; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(density.around(10.005, 10.005)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.repository.CoordinatesRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+
+/**
+ * As versões das coleções vêm da tabela compartilhada: uma escrita feita por outra
+ * instância invalida as ETags desta, e uma transação incrementa cada coleção uma vez.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SharedVersionsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CollectionVersions versions;
+
+    @Autowired
+    private CoordinatesRepository coordinates;
+
+    @Test
+    void writeOnAnotherInstanceInvalidatesTheEtag() throws Exception {
+        String etag = mockMvc.perform(get("/coordinates")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/coordinates").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        // O que o CollectionVersions de outra instância grava depois de um commit
+        jdbcTemplate.update("update collection_version set version = version + 1 where collection = 'COORDINATES'");
+        Thread.sleep(1_100);
+
+        mockMvc.perform(get("/coordinates").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+    }
+
+    @Test
+    void oneBumpPerCollectionAndTransaction() {
+        long before = shared(ResourceCollection.COORDINATES);
+        long local = versions.version(ResourceCollection.COORDINATES);
+
+        coordinates.saveAll(List.of(
+                Coordinates.builder().latitude(-23.1).longitude(-46.1).dateCoordinate(LocalDate.now()).build(),
+                Coordinates.builder().latitude(-23.2).longitude(-46.2).dateCoordinate(LocalDate.now()).build()));
+
+        assertThat(shared(ResourceCollection.COORDINATES)).isEqualTo(before + 1);
+        // A escrita local aparece na hora, sem esperar a releitura
+        assertThat(versions.version(ResourceCollection.COORDINATES)).isGreaterThan(local);
+    }
+
+    private long shared(ResourceCollection collection) {
+        return jdbcTemplate.queryForObject("select version from collection_version where collection = ?", Long.class,
+                collection.name());
+    }
+}
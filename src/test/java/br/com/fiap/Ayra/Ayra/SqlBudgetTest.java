@@ -0,0 +1,55 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import br.com.fiap.Ayra.monitoring.SqlStatsResponseAdvice;
+
+/**
+ * Executa as leituras públicas em modo estrito: uma regressão N+1 que estoure o
+ * orçamento de {@code ayra.sql.*} faz a requisição, e o teste, falhar.
+ */
+@SpringBootTest(properties = {
+    "ayra.sql.strict=true",
+    "ayra.sql.budgets[/map-marker/{id}]=0"
+})
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/alert", "/alert?size=100", "/alert?intensity=high",
+        "/map-marker", "/map-marker?size=100",
+        "/coordinates", "/safe-routes", "/safe-location", "/safe-tip",
+        "/safe-routes/by-alert/1", "/safe-location/by-alert/1", "/safe-tip/by-alert/1",
+        "/alert?fields=title,coordinates.latitude", "/map-marker?fields=coordinates",
+        "/alert?view=compact", "/safe-routes?view=compact", "/safe-tip/by-alert/1?view=compact",
+        "/alert?status=all&from=2020-01-01T00:00:00Z", "/alert?sort=riskScore,desc&status=all", "/coordinates?from=2020-01-01&to=2030-12-31",
+        "/sync?since=0"
+    })
+    void readsStayWithinBudget(String uri) throws Exception {
+        mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatsResponseAdvice.COUNT_HEADER));
+    }
+
+    @Test
+    void strictModeFailsOverBudget() {
+        Exception e = assertThrows(Exception.class, () -> mockMvc.perform(get("/map-marker/1")));
+        assertTrue(e.getMessage().contains("comandos SQL"), e.getMessage());
+    }
+}
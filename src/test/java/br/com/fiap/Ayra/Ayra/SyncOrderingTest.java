@@ -0,0 +1,82 @@
+package br.com.fiap.Ayra.Ayra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.MapMarker;
+import br.com.fiap.Ayra.model.dto.SyncResponse;
+import br.com.fiap.Ayra.repository.MapMarkerRepository;
+import br.com.fiap.Ayra.service.ChangeLogRecorder;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import br.com.fiap.Ayra.service.SyncService;
+
+/**
+ * Uma escrita que confirma depois de outra mais nova ainda chega ao cliente que já
+ * sincronizou a mais nova.
+ */
+@SpringBootTest
+class SyncOrderingTest {
+
+    @Autowired
+    private ChangeLogRecorder changeLog;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MapMarkerRepository markers;
+
+    @Test
+    void entityWriteIsRecorded() {
+        long start = latest();
+
+        // Passa pelo listener JPA criado pelo container do Spring, não pelo ChangeLogRecorder
+        MapMarker marker = markers.findById(2L).orElseThrow();
+        marker.setTitle(marker.getTitle() + " (revisado)");
+        markers.save(marker);
+
+        SyncResponse changes = syncService.changesSince(start, 500);
+        assertThat(changes.mapMarkers()).extracting(MapMarker::getId).contains(2L);
+    }
+
+    @Test
+    void longTransactionIsNotSkipped() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        long start = latest();
+
+        long[] seen = new long[1];
+        requiresNew.executeWithoutResult(slow -> {
+            changeLog.record(ResourceCollection.ALERT, 1L, Operation.UPDATE);
+
+            // Outra escrita começa e confirma enquanto a primeira continua aberta
+            requiresNew.executeWithoutResult(fast -> changeLog.record(ResourceCollection.ALERT, 2L, Operation.UPDATE));
+            SyncResponse fast = syncService.changesSince(start, 500);
+            assertThat(fast.alerts()).extracting(Alert::getId).containsExactly(2L);
+            seen[0] = fast.version();
+        });
+
+        SyncResponse late = syncService.changesSince(seen[0], 500);
+        assertThat(late.alerts()).extracting(Alert::getId).containsExactly(1L);
+        assertThat(late.version()).isGreaterThan(seen[0]);
+    }
+
+    private long latest() {
+        SyncResponse initial = syncService.changesSince(0, 2000);
+        while (initial.hasMore()) {
+            initial = syncService.changesSince(initial.version(), 2000);
+        }
+        return initial.version();
+    }
+}
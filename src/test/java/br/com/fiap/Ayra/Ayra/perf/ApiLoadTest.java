@@ -0,0 +1,91 @@
+package br.com.fiap.Ayra.Ayra.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Teste de carga ponta a ponta no perfil perf (H2 em modo Oracle).
+ *
+ * Fica fora do {@code mvn test} padrão; rode com o perfil Maven {@code load}, ex:
+ * {@code ./mvnw -Pload test -Dayra.load.concurrency=32 -Dayra.load.requests=5000}
+ *
+ * <ul>
+ *   <li>{@code ayra.load.concurrency} clientes simultâneos (padrão 8)</li>
+ *   <li>{@code ayra.load.requests} requisições medidas por rota (padrão 200)</li>
+ *   <li>{@code ayra.load.warmup} requisições de aquecimento por rota (padrão 50)</li>
+ *   <li>{@code ayra.load.p99-budget-ms} orçamento de p99 das leituras (padrão 1000)</li>
+ *   <li>{@code ayra.load.login-p99-budget-ms} orçamento de p99 do /login, dominado pelo bcrypt (padrão 5000)</li>
+ * </ul>
+ */
+@Tag("load")
+@ActiveProfiles("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("ayra.load.concurrency", 8);
+    private static final int REQUESTS = Integer.getInteger("ayra.load.requests", 200);
+    private static final int WARMUP = Integer.getInteger("ayra.load.warmup", 50);
+    private static final long READ_P99_BUDGET_MS = Long.getLong("ayra.load.p99-budget-ms", 1000);
+    private static final long LOGIN_P99_BUDGET_MS = Long.getLong("ayra.load.login-p99-budget-ms", 5000);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void endpointsStayWithinLatencyBudgets() throws Exception {
+        LoadGenerator reads = new LoadGenerator(CONCURRENCY, REQUESTS, WARMUP);
+        // O bcrypt custa dezenas de ms por login; menos requisições mantêm o teste curto
+        LoadGenerator logins = new LoadGenerator(CONCURRENCY, Math.max(CONCURRENCY, REQUESTS / 10), Math.min(WARMUP, 10));
+
+        List<LoadGenerator.Result> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+
+        check(results, failures, LOGIN_P99_BUDGET_MS, logins.run("POST /login", () -> HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"joao@example.com\",\"password\":\"senha123\"}"))
+                .build()));
+
+        for (String path : List.of(
+                "/alert",
+                "/alert?latitude=-23.5505&longitude=-46.6333",
+                "/alert?intensity=high",
+                "/map-marker",
+                "/map-marker/1",
+                "/safe-routes/by-alert/1",
+                "/safe-location/by-alert/1",
+                "/safe-tip/by-alert/1")) {
+            check(results, failures, READ_P99_BUDGET_MS, reads.run("GET " + path, () -> HttpRequest.newBuilder(uri(path)).GET().build()));
+        }
+
+        System.out.printf("%nCarga: %d clientes, %d requisições por rota%n", CONCURRENCY, REQUESTS);
+        results.forEach(System.out::println);
+
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private static void check(List<LoadGenerator.Result> results, List<String> failures, long budgetMillis,
+                              LoadGenerator.Result result) {
+        results.add(result);
+        if (result.errors() > 0) {
+            failures.add(result.name() + ": " + result.errors() + " respostas com erro");
+        }
+        if (result.p99Millis() > budgetMillis) {
+            failures.add(String.format(Locale.ROOT, "%s: p99 %.2f ms acima do orçamento de %d ms", result.name(), result.p99Millis(), budgetMillis));
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.fiap.Ayra.Ayra.perf;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gerador de carga em processo: dispara {@code requests} requisições com
+ * {@code concurrency} clientes simultâneos e mede a latência de cada uma.
+ */
+class LoadGenerator {
+
+    record Result(String name, int requests, int errors, double p50Millis, double p99Millis, double maxMillis,
+                  double throughput) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%-48s %6d req %4d erros  p50=%7.2f ms  p99=%7.2f ms  max=%7.2f ms  %8.1f req/s",
+                    name, requests, errors, p50Millis, p99Millis, maxMillis, throughput);
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final int concurrency;
+    private final int requests;
+    private final int warmup;
+
+    LoadGenerator(int concurrency, int requests, int warmup) {
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.warmup = warmup;
+    }
+
+    Result run(String name, Supplier<HttpRequest> request) throws InterruptedException {
+        execute(request, warmup, new long[warmup], new AtomicInteger());
+
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        long started = System.nanoTime();
+        execute(request, requests, latencies, errors);
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        return new Result(name, requests, errors.get(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[requests - 1] / 1e6,
+                requests / (elapsed / 1e9));
+    }
+
+    private void execute(Supplier<HttpRequest> request, int total, long[] latencies, AtomicInteger errors)
+            throws InterruptedException {
+        if (total == 0) {
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            clients.execute(() -> {
+                try {
+                    int i;
+                    while ((i = next.getAndIncrement()) < total) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request.get(), HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
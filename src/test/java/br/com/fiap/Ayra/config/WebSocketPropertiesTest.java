@@ -0,0 +1,28 @@
+package br.com.fiap.Ayra.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+class WebSocketPropertiesTest {
+
+    @Configuration
+    @EnableConfigurationProperties(WebSocketProperties.class)
+    static class Config {}
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(Config.class);
+
+    @Test
+    void rejectsEmptyBatches() {
+        runner.withPropertyValues("ayra.ws.max-batch-size=0")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void defaultsToTwoHundred() {
+        runner.run(context -> assertThat(context.getBean(WebSocketProperties.class).getMaxBatchSize()).isEqualTo(200));
+    }
+}
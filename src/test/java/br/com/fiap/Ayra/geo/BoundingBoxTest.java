@@ -0,0 +1,41 @@
+package br.com.fiap.Ayra.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Leitura do parâmetro {@code bbox} na ordem do GeoJSON.
+ */
+class BoundingBoxTest {
+
+    @Test
+    void readsWestSouthEastNorth() {
+        assertThat(BoundingBox.parse("-46.83, -23.72,-46.36,-23.36"))
+                .isEqualTo(new BoundingBox(-46.83, -23.72, -46.36, -23.36));
+    }
+
+    @Test
+    void missingBboxIsTheWholeWorld() {
+        assertThat(BoundingBox.parse(null)).isEqualTo(BoundingBox.WORLD);
+        assertThat(BoundingBox.parse(" ")).isEqualTo(BoundingBox.WORLD);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "NaN,-23.72,-46.36,-23.36",
+        "-46.83,NaN,-46.36,NaN",
+        "-Infinity,-23.72,-46.36,-23.36",
+        "-46.83,-23.72,Infinity,-23.36",
+        "-46.36,-23.72,-46.83,-23.36",
+        "-46.83,-91,-46.36,-23.36",
+        "-46.83,-23.72,-46.36",
+        "a,b,c,d"
+    })
+    void rejectsInvalidBoxes(String bbox) {
+        assertThatThrownBy(() -> BoundingBox.parse(bbox)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
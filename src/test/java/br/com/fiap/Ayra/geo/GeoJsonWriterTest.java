@@ -0,0 +1,83 @@
+package br.com.fiap.Ayra.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Arredondamento das coordenadas e fechamento da FeatureCollection só após o último Feature.
+ */
+class GeoJsonWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void writesAFeatureCollectionOfPoints() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GeoJsonWriter writer = new GeoJsonWriter(mapper.createGenerator(out), 5)) {
+            writer.feature(7, -23.5505, -46.6333, g -> g.writeStringField("title", "Alagamento"));
+            writer.feature(8, -23.56, -46.64, g -> {});
+            writer.finish();
+            assertThat(writer.count()).isEqualTo(2);
+        }
+
+        JsonNode collection = mapper.readTree(out.toByteArray());
+        assertThat(collection.get("type").asText()).isEqualTo("FeatureCollection");
+        assertThat(collection.get("features")).hasSize(2);
+        JsonNode first = collection.get("features").get(0);
+        assertThat(first.get("id").asLong()).isEqualTo(7);
+        assertThat(first.at("/geometry/type").asText()).isEqualTo("Point");
+        // GeoJSON usa [longitude, latitude]
+        assertThat(first.at("/geometry/coordinates").toString()).isEqualTo("[-46.6333,-23.5505]");
+        assertThat(first.at("/properties/title").asText()).isEqualTo("Alagamento");
+    }
+
+    @Test
+    void roundsToThePrecisionWithoutTrailingZeros() throws IOException {
+        assertThat(coordinates(5, -23.550512345, -46.633349999)).isEqualTo("[-46.63335,-23.55051]");
+        assertThat(coordinates(3, -23.5, -46.0)).isEqualTo("[-46,-23.5]");
+        assertThat(coordinates(0, -23.5505, -46.4999)).isEqualTo("[-46,-24]");
+        assertThat(coordinates(7, 0.00000004, 0.00000006)).isEqualTo("[0.0000001,0]");
+    }
+
+    @Test
+    void failureLeavesTheDocumentOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> {
+            try (GeoJsonWriter writer = new GeoJsonWriter(mapper.createGenerator(out), 5)) {
+                writer.feature(1, -23.55, -46.63, g -> {});
+                throw new IOException("cursor fechado");
+            }
+        }).hasMessage("cursor fechado");
+
+        // Um JSON completo faria o cliente aceitar um mapa com parte dos Features
+        assertThat(out.toString()).endsWith("}}");
+        assertThatThrownBy(() -> mapper.readTree(out.toByteArray())).isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThatThrownBy(() -> new GeoJsonWriter(mapper.createGenerator(new ByteArrayOutputStream()), 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String coordinates(int precision, double latitude, double longitude) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GeoJsonWriter writer = new GeoJsonWriter(mapper.createGenerator(out), precision)) {
+            writer.feature(1, latitude, longitude, g -> {});
+            writer.finish();
+        }
+        // Texto como saiu no stream: a leitura como árvore esconderia zeros à direita e notação científica
+        String json = out.toString();
+        int start = json.indexOf("\"coordinates\":") + "\"coordinates\":".length();
+        return json.substring(start, json.indexOf(']', start) + 1);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.fiap.Ayra.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prazos vencem no tick certo, inclusive além de uma volta, e reagendar ou cancelar
+ * descarta a entrada antiga.
+ */
+class TimeWheelTest {
+
+    // Ticks de 1 s e 8 posições: uma volta cobre 8 s
+    private final TimeWheel wheel = new TimeWheel(1_000, 8, 0);
+
+    @Test
+    void expiresWithinOneTickOfTheDeadline() {
+        wheel.schedule(1L, 2_500);
+
+        assertThat(wheel.advance(2_999)).isEmpty();
+        assertThat(wheel.advance(3_000)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingAndCancellingDropTheOldEntry() {
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(1L, 5_000);
+        wheel.schedule(2L, 3_000);
+        wheel.cancel(2L);
+
+        assertThat(wheel.advance(4_000)).isEmpty();
+        assertThat(wheel.advance(5_000)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForTheirTurn() {
+        // Tick 10 cai na mesma posição do tick 2
+        wheel.schedule(1L, 10_000);
+
+        assertThat(wheel.advance(2_000)).isEmpty();
+        assertThat(wheel.advance(9_000)).isEmpty();
+        assertThat(wheel.advance(10_000)).containsExactly(1L);
+    }
+
+    @Test
+    void longPauseExpiresEverythingDue() {
+        LongStream.rangeClosed(1, 20).forEach(id -> wheel.schedule(id, id * 1_000));
+        wheel.schedule(99L, 1_000_000);
+
+        assertThat(wheel.advance(500_000)).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, 20).boxed().toList());
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pastDeadlineExpiresOnTheNextTick() {
+        TimeWheel late = new TimeWheel(1_000, 8, 5_000);
+        late.schedule(1L, 1_000);
+
+        assertThat(late.advance(5_999)).isEmpty();
+        assertThat(late.advance(6_000)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.fiap.Ayra.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Convergência do limite com demanda sempre acima dele: a cada resposta, uma vaga é
+ * liberada com a latência do modelo e ocupada de novo.
+ */
+class AdaptiveLimiterTest {
+
+    private static final long SERVICE_NANOS = 10_000_000;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void normalVarianceDoesNotShrinkTheLimit() {
+        // Sem fila: a latência varia (lognormal, σ = 0,5) mas não depende da concorrência
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 4, 200, 2.0, 10_000);
+        run(limiter, 20_000, Integer.MAX_VALUE);
+
+        assertThat(limiter.limit()).isGreaterThan(150);
+    }
+
+    @Test
+    void queueingCutsTheLimitAndItRecoversAfterwards() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 4, 200, 2.0, 10_000);
+        run(limiter, 5_000, Integer.MAX_VALUE);
+        assertThat(limiter.limit()).isGreaterThan(150);
+
+        // O banco passa a atender só 16 de cada vez: a fila aparece antes de a
+        // referência longa se mover, e o limite cai para perto da capacidade
+        run(limiter, 300, 16);
+        assertThat(limiter.limit()).isBetween(8, 60);
+
+        run(limiter, 3_000, Integer.MAX_VALUE);
+        assertThat(limiter.limit()).isGreaterThan(150);
+    }
+
+    @Test
+    void errorsBackOff() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(100, 4, 200, 2.0, 10_000);
+        for (int i = 0; i < 10; i++) {
+            fill(limiter);
+            limiter.release(SERVICE_NANOS, true);
+        }
+
+        assertThat(limiter.limit()).isEqualTo((int) (100 * Math.pow(0.9, 10)));
+    }
+
+    private void run(AdaptiveLimiter limiter, int responses, int capacity) {
+        for (int i = 0; i < responses; i++) {
+            fill(limiter);
+            double queue = Math.max(1.0, (double) limiter.inFlight() / capacity);
+            limiter.release((long) (lognormal(SERVICE_NANOS) * queue), false);
+        }
+    }
+
+    private static void fill(AdaptiveLimiter limiter) {
+        while (limiter.tryAcquire(Integer.MAX_VALUE)) {
+            // ocupa todas as vagas
+        }
+    }
+
+    private long lognormal(long median) {
+        return (long) (median * Math.exp(0.5 * random.nextGaussian()));
+    }
+}
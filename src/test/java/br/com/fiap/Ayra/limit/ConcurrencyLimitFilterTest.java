@@ -0,0 +1,143 @@
+package br.com.fiap.Ayra.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.fiap.Ayra.config.ResponseCacheFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Classificação das rotas e prioridade das leituras no {@link ConcurrencyLimitFilter}.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter();
+        ReflectionTestUtils.setField(filter, "properties", new ConcurrencyLimitProperties());
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.start();
+    }
+
+    // Como um ResponseCacheFilter com GET /alert e GET /map-marker guardados
+    private static final Predicate<HttpServletRequest> CACHED =
+            request -> Set.of("/alert", "/map-marker").contains(request.getRequestURI()) && "GET".equals(request.getMethod());
+
+    @Test
+    void classifiesByCostOfTheResponse() {
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/alert/1"), CACHED)).isEqualTo(EndpointGroup.READS);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/safe-routes"), CACHED)).isEqualTo(EndpointGroup.READS);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/alert"), CACHED)).isEqualTo(EndpointGroup.CACHED_READS);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/map-marker"), CACHED)).isEqualTo(EndpointGroup.CACHED_READS);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/alert.geojson"), CACHED)).isEqualTo(EndpointGroup.STREAMS);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("POST", "/map-marker"), CACHED)).isEqualTo(EndpointGroup.WRITES);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("POST", "/login"), CACHED)).isEqualTo(EndpointGroup.AUTH);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/users/me"), CACHED)).isEqualTo(EndpointGroup.USERS);
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/actuator/health"), CACHED)).isNull();
+
+        // Uma falta (ou o cache desligado) consulta o banco
+        assertThat(EndpointGroup.of(new MockHttpServletRequest("GET", "/alert"), request -> false)).isEqualTo(EndpointGroup.READS);
+    }
+
+    @Test
+    void conditionalHeadersAloneDoNotMakeACachedRead() {
+        MockHttpServletRequest etag = new MockHttpServletRequest("GET", "/coordinates");
+        etag.addHeader(HttpHeaders.IF_NONE_MATCH, "x");
+        assertThat(EndpointGroup.of(etag, CACHED)).isEqualTo(EndpointGroup.READS);
+
+        MockHttpServletRequest date = new MockHttpServletRequest("GET", "/alert");
+        date.addHeader(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2026 00:00:00 GMT");
+        assertThat(EndpointGroup.of(date, request -> false)).isEqualTo(EndpointGroup.READS);
+    }
+
+    @Test
+    void hitsAreAdmittedAsCachedReads() throws Exception {
+        ResponseCacheFilter responseCache = mock(ResponseCacheFilter.class);
+        when(responseCache.hit(any())).thenAnswer(call -> "/alert".equals(call.<HttpServletRequest>getArgument(0).getRequestURI()));
+        ReflectionTestUtils.setField(filter, "responseCache", responseCache);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/alert"), new MockHttpServletResponse(),
+                inFlightIn(EndpointGroup.CACHED_READS, 200));
+        filter.doFilter(new MockHttpServletRequest("GET", "/map-marker"), new MockHttpServletResponse(),
+                inFlightIn(EndpointGroup.READS, 200));
+    }
+
+    @Test
+    void notModifiedFromTheControllerLeavesNoLatencySample() throws Exception {
+        ResponseCacheFilter responseCache = mock(ResponseCacheFilter.class);
+        ReflectionTestUtils.setField(filter, "responseCache", responseCache);
+        AdaptiveLimiter reads = filter.limiter(EndpointGroup.READS);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/coordinates");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"coordinates-1\"");
+        filter.doFilter(request, new MockHttpServletResponse(), inFlightIn(EndpointGroup.READS, 304));
+        assertThat(reads.inFlight()).isZero();
+        assertThat((double) ReflectionTestUtils.getField(reads, "longRtt")).isZero();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/coordinates"), new MockHttpServletResponse(),
+                inFlightIn(EndpointGroup.READS, 200));
+        assertThat(reads.inFlight()).isZero();
+        assertThat((double) ReflectionTestUtils.getField(reads, "longRtt")).isPositive();
+    }
+
+    // Confere em qual grupo a requisição ocupou a vaga e responde com o status dado
+    private FilterChain inFlightIn(EndpointGroup group, int status) {
+        return (request, response) -> {
+            assertThat(filter.limiter(group).inFlight()).isEqualTo(1);
+            ((HttpServletResponse) response).setStatus(status);
+        };
+    }
+
+    @Test
+    void otherGroupsKeepTheirLimitWhileReadsHaveRoom() {
+        for (EndpointGroup group : EndpointGroup.values()) {
+            assertThat(filter.capFor(group, filter.limiter(group))).isEqualTo(Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void saturatedReadsPushOtherGroupsToTheirMinimum() {
+        AdaptiveLimiter reads = filter.limiter(EndpointGroup.READS);
+        fill(reads);
+
+        assertThat(filter.capFor(EndpointGroup.AUTH, filter.limiter(EndpointGroup.AUTH))).isEqualTo(1);
+        assertThat(filter.capFor(EndpointGroup.USERS, filter.limiter(EndpointGroup.USERS))).isEqualTo(1);
+        assertThat(filter.capFor(EndpointGroup.WRITES, filter.limiter(EndpointGroup.WRITES))).isEqualTo(2);
+        assertThat(filter.capFor(EndpointGroup.STREAMS, filter.limiter(EndpointGroup.STREAMS))).isEqualTo(1);
+        // Um grupo de leitura não rebaixa o outro
+        assertThat(filter.capFor(EndpointGroup.CACHED_READS, filter.limiter(EndpointGroup.CACHED_READS)))
+                .isEqualTo(Integer.MAX_VALUE);
+        assertThat(filter.capFor(EndpointGroup.READS, reads)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void saturatedCachedReadsAlsoTriggerTheBrownout() {
+        fill(filter.limiter(EndpointGroup.CACHED_READS));
+
+        assertThat(filter.capFor(EndpointGroup.AUTH, filter.limiter(EndpointGroup.AUTH))).isEqualTo(1);
+        assertThat(filter.capFor(EndpointGroup.READS, filter.limiter(EndpointGroup.READS))).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private static void fill(AdaptiveLimiter limiter) {
+        while (limiter.tryAcquire(Integer.MAX_VALUE)) {
+            // ocupa todas as vagas
+        }
+    }
+}
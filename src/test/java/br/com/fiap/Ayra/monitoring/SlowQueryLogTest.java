@@ -0,0 +1,64 @@
+package br.com.fiap.Ayra.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.fiap.Ayra.monitoring.SlowQueryLog.Shape;
+
+/**
+ * Agregação por formato: SQL com valores embutidos não esgota o limite de formatos.
+ */
+class SlowQueryLogTest {
+
+    private SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog = new SlowQueryLog();
+        ReflectionTestUtils.setField(slowQueryLog, "thresholdMillis", Long.MAX_VALUE / 1_000_000);
+        ReflectionTestUtils.setField(slowQueryLog, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(slowQueryLog, "maxShapes", 3);
+    }
+
+    @Test
+    void literalsCollapseIntoOneShape() {
+        for (int i = 0; i < 600; i++) {
+            slowQueryLog.record("select * from alert a1_0 where a1_0.id_alert = " + i + " and a1_0.intensity = 'high" + i + "'", 1_000_000);
+        }
+        slowQueryLog.record("select * from map_marker where id_maker in (?, ?, ?)", 3_000_000);
+
+        List<Shape> top = slowQueryLog.top(10);
+        assertThat(top).extracting(Shape::sql).containsExactly(
+                "select * from map_marker where id_maker in (?, ...)",
+                "select * from alert a1_0 where a1_0.id_alert = ? and a1_0.intensity = ?");
+        assertThat(top.get(1).count()).isEqualTo(600);
+        assertThat(top.get(1).meanMs()).isEqualTo(1.0);
+    }
+
+    @Test
+    void newShapesAreDroppedOnlyWhenShapesRunOut() {
+        slowQueryLog.record("select 1 from alert", 1);
+        slowQueryLog.record("select 1 from map_marker", 1);
+        slowQueryLog.record("select 1 from safe_tip", 1);
+        slowQueryLog.record("select 1 from safe_routes", 1);
+        slowQueryLog.record("select 2 from alert", 1);
+
+        assertThat(slowQueryLog.top(10)).extracting(Shape::sql)
+                .containsExactlyInAnyOrder("select ? from alert", "select ? from map_marker", "select ? from safe_tip");
+        assertThat(slowQueryLog.top(10)).filteredOn(shape -> shape.sql().endsWith("alert"))
+                .extracting(Shape::count).containsExactly(2L);
+    }
+
+    @Test
+    void identifiersWithDigitsAreKept() {
+        assertThat(SlowQueryLog.shapeOf("select c1_0.latitude from coordinates c1_0 fetch first 500 rows only"))
+                .isEqualTo("select c1_0.latitude from coordinates c1_0 fetch first ? rows only");
+        assertThat(SlowQueryLog.shapeOf("update t set note = 'it''s 42'\n  where x = 1.5"))
+                .isEqualTo("update t set note = ? where x = ?");
+    }
+}
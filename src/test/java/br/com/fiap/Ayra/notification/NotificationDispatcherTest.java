@@ -0,0 +1,184 @@
+package br.com.fiap.Ayra.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.fiap.Ayra.model.Alert;
+import br.com.fiap.Ayra.model.ChangeLog.Operation;
+import br.com.fiap.Ayra.model.Coordinates;
+import br.com.fiap.Ayra.model.User;
+import br.com.fiap.Ayra.model.listener.EntityChangedEvent;
+import br.com.fiap.Ayra.repository.UserRepository;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Despacho com o {@link LogNotificationSink} gravando em arquivo e um repositório de
+ * usuários em memória que pagina por chave como a consulta real.
+ */
+class NotificationDispatcherTest {
+
+    private static final double LAT = -23.55;
+    private static final double LON = -46.63;
+
+    @TempDir
+    Path dir;
+
+    private final List<User> users = new ArrayList<>();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void stop() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void fansOutInBatchesOnlyToUsersInsideTheRadius() throws Exception {
+        // 5 usuários a até ~1 km; 2 dentro do quadrado de busca, mas fora do círculo de 2 km
+        for (int i = 0; i < 5; i++) {
+            user(LAT + 0.002 * i, LON);
+        }
+        user(LAT + 0.017, LON + 0.018);
+        user(LAT - 0.017, LON - 0.018);
+        Path file = dir.resolve("notifications.csv");
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        LogNotificationSink log = new LogNotificationSink(file.toString());
+        dispatcher = dispatcher(batch -> {
+            batchSizes.add(batch.size());
+            log.deliver(batch);
+        }, 2, 5, 10);
+
+        publish(alert(2.0));
+        await(() -> dispatcher.stats().alerts() == 1 && dispatcher.stats().batchesDelivered() == batchSizes.size()
+                && batchSizes.stream().mapToInt(Integer::intValue).sum() == 5);
+
+        assertThat(dispatcher.stats().recipients()).isEqualTo(5);
+        assertThat(batchSizes).allMatch(size -> size <= 2);
+        assertThat(Files.readAllLines(file)).hasSize(5)
+                .allMatch(line -> line.startsWith("10;"))
+                .noneMatch(line -> line.startsWith("10;6;") || line.startsWith("10;7;"));
+    }
+
+    @Test
+    void retriesFailedBatchesWithExponentialBackoff() throws Exception {
+        user(LAT, LON);
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        LogNotificationSink log = new LogNotificationSink(dir.resolve("retry.csv").toString());
+        dispatcher = dispatcher(batch -> {
+            attempts.add(System.nanoTime());
+            if (attempts.size() <= 2) {
+                throw new IllegalStateException("canal indisponível");
+            }
+            log.deliver(batch);
+        }, 500, 5, 50);
+
+        publish(alert(1.0));
+        await(() -> dispatcher.stats().batchesDelivered() == 1);
+
+        assertThat(dispatcher.stats().batchesRetried()).isEqualTo(2);
+        assertThat(dispatcher.stats().batchesDropped()).isZero();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(attempts.get(1) - attempts.get(0))).isGreaterThanOrEqualTo(50);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(attempts.get(2) - attempts.get(1))).isGreaterThanOrEqualTo(100);
+        assertThat(Files.readAllLines(dir.resolve("retry.csv"))).hasSize(1);
+    }
+
+    @Test
+    void dropsBatchAfterMaxAttempts() throws Exception {
+        user(LAT, LON);
+        AtomicInteger attempts = new AtomicInteger();
+        dispatcher = dispatcher(batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("canal indisponível");
+        }, 500, 3, 5);
+
+        publish(alert(1.0));
+        await(() -> dispatcher.stats().batchesDropped() == 1);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(dispatcher.stats().batchesRetried()).isEqualTo(2);
+        assertThat(dispatcher.stats().batchesDelivered()).isZero();
+    }
+
+    private void user(double latitude, double longitude) {
+        long id = users.size() + 1;
+        users.add(User.builder().id(id).email("u" + id + "@example.com").phone("11900000000")
+                .coordinates(Coordinates.builder().latitude(latitude).longitude(longitude).build())
+                .build());
+    }
+
+    private static Alert alert(double radiusKm) {
+        return Alert.builder().id(10L).title("Alagamento").intensity("high").radius(radiusKm)
+                .coordinates(Coordinates.builder().latitude(LAT).longitude(LON).build())
+                .build();
+    }
+
+    private void publish(Alert alert) {
+        dispatcher.onEntityChanged(new EntityChangedEvent(ResourceCollection.ALERT, alert.getId(), Operation.INSERT, alert));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NotificationDispatcher dispatcher(NotificationSink sink, int batchSize, int maxAttempts, long backoffMillis) {
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findInAreaAfter(anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyLong(), any(Pageable.class)))
+                .thenAnswer(call -> {
+                    double minLat = call.getArgument(0), maxLat = call.getArgument(1);
+                    double minLon = call.getArgument(2), maxLon = call.getArgument(3);
+                    long afterId = call.getArgument(4);
+                    Pageable page = call.getArgument(5);
+                    return users.stream()
+                            .filter(u -> u.getId() > afterId)
+                            .filter(u -> u.getCoordinates().getLatitude() >= minLat && u.getCoordinates().getLatitude() <= maxLat
+                                    && u.getCoordinates().getLongitude() >= minLon && u.getCoordinates().getLongitude() <= maxLon)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        ObjectProvider<NotificationSink> sinks = mock(ObjectProvider.class);
+        when(sinks.getIfUnique(any(Supplier.class))).thenReturn(sink);
+
+        NotificationDispatcher dispatcher = new NotificationDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "userRepository", repository);
+        ReflectionTestUtils.setField(dispatcher, "sinks", sinks);
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", batchSize);
+        ReflectionTestUtils.setField(dispatcher, "workers", 2);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 4);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoffMillis", backoffMillis);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condição não atingida em 5 s");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
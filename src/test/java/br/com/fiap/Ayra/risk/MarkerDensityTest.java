@@ -0,0 +1,63 @@
+package br.com.fiap.Ayra.risk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.Ayra.geo.GeoCell;
+
+/**
+ * Contagem da vizinhança 3×3 e ajuste incremental ao mover ou remover marcadores.
+ */
+class MarkerDensityTest {
+
+    private static final double LAT = -23.555;
+    private static final double LON = -46.635;
+
+    private MarkerDensity density;
+
+    @BeforeEach
+    void setUp() {
+        density = new MarkerDensity();
+        density.reset(List.of(
+                new Object[] { 1L, LAT, LON },
+                new Object[] { 2L, LAT + GeoCell.SIZE, LON - GeoCell.SIZE },
+                // Duas células ao norte: fora da vizinhança
+                new Object[] { 3L, LAT + 2 * GeoCell.SIZE, LON }));
+    }
+
+    @Test
+    void countsTheSurroundingCells() {
+        assertThat(density.markers()).isEqualTo(3);
+        assertThat(density.around(LAT, LON)).isEqualTo(2);
+        assertThat(density.around(LAT + GeoCell.SIZE, LON)).isEqualTo(3);
+    }
+
+    @Test
+    void movingAMarkerDiscountsTheOldCell() {
+        GeoCell from = GeoCell.of(LAT + 2 * GeoCell.SIZE, LON);
+        GeoCell to = GeoCell.of(LAT, LON);
+
+        assertThat(density.move(3L, to)).containsExactly(from, to);
+        assertThat(density.around(LAT, LON)).isEqualTo(3);
+        assertThat(density.around(LAT + 3 * GeoCell.SIZE, LON)).isZero();
+
+        // Mesma célula: nada muda
+        assertThat(density.move(3L, to)).isEmpty();
+        assertThat(density.around(LAT, LON)).isEqualTo(3);
+    }
+
+    @Test
+    void removingAMarkerFreesItsCell() {
+        assertThat(density.move(1L, null)).containsExactly(GeoCell.of(LAT, LON));
+        assertThat(density.around(LAT, LON)).isEqualTo(1);
+        assertThat(density.markers()).isEqualTo(2);
+
+        // Remover de novo não conta duas vezes
+        assertThat(density.move(1L, null)).isEmpty();
+        assertThat(density.around(LAT, LON)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.fiap.Ayra.risk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * O rank gravado ordena como o score atual em qualquer instante, e o score só muda
+ * na virada de passo.
+ */
+class RiskScoreTest {
+
+    private static final long NOW = Instant.parse("2026-10-19T12:00:00Z").toEpochMilli();
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void scoreHalvesEveryHalfLife() {
+        double rank = RiskScore.rank("high", 0.0, 0, at(NOW));
+
+        assertThat(RiskScore.score(rank, NOW)).isEqualTo(3.0);
+        assertThat(RiskScore.score(rank, NOW + 6 * HOUR)).isEqualTo(1.5);
+        assertThat(RiskScore.score(rank, NOW + 12 * HOUR)).isEqualTo(0.75);
+    }
+
+    @Test
+    void rankOrdersLikeTheScoreAtAnyTime() {
+        // Um alerta high de 10 h atrás contra um low recente e cercado de marcadores
+        double older = RiskScore.rank("high", 500.0, 0, at(NOW - 10 * HOUR));
+        double newer = RiskScore.rank("low", 50.0, 12, at(NOW));
+
+        assertThat(newer).isGreaterThan(older);
+        for (long t = NOW; t <= NOW + 24 * HOUR; t += 3 * HOUR) {
+            assertThat(RiskScore.score(newer, t)).isGreaterThan(RiskScore.score(older, t));
+        }
+    }
+
+    @Test
+    void nearbyMarkersAndRadiusRaiseTheRank() {
+        ZonedDateTime when = at(NOW);
+
+        assertThat(RiskScore.rank("medium", 100.0, 5, when)).isGreaterThan(RiskScore.rank("medium", 100.0, 0, when));
+        assertThat(RiskScore.rank("medium", 1000.0, 0, when)).isGreaterThan(RiskScore.rank("medium", 100.0, 0, when));
+        // Intensidade desconhecida e raio nulo pesam como low sem raio
+        assertThat(RiskScore.rank("extrema", null, 0, when)).isEqualTo(RiskScore.rank("low", 0.0, 0, when));
+    }
+
+    @Test
+    void scoreIsConstantWithinAStep() {
+        long start = RiskScore.stepStart(NOW + 1);
+
+        assertThat(RiskScore.stepStart(start + RiskScore.STEP_MILLIS - 1)).isEqualTo(start);
+        assertThat(RiskScore.stepStart(start + RiskScore.STEP_MILLIS)).isEqualTo(start + RiskScore.STEP_MILLIS);
+        assertThat(RiskScore.stepStart(-1)).isEqualTo(-RiskScore.STEP_MILLIS);
+    }
+
+    private static ZonedDateTime at(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.fiap.Ayra.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.fiap.Ayra.lifecycle.AlertLifecycle;
+import br.com.fiap.Ayra.model.SafeLocation;
+import br.com.fiap.Ayra.repository.SafeLocationRepository;
+import br.com.fiap.Ayra.service.CollectionVersions;
+import br.com.fiap.Ayra.service.ResourceCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Locais seguros gravados por outra instância chegam às rotas pela versão
+ * compartilhada, relidos fora das requisições.
+ */
+class EvacuationRouterTest {
+
+    private static final SafeLocation FAR = SafeLocation.builder().id(1L).location("Escola").latitude(0.01).longitude(0.02).build();
+    private static final SafeLocation NEAR = SafeLocation.builder().id(2L).location("Ginásio").latitude(0.0).longitude(0.01).build();
+
+    @TempDir
+    Path dir;
+
+    private final SafeLocationRepository repository = mock(SafeLocationRepository.class);
+    private final CollectionVersions versions = mock(CollectionVersions.class);
+    private EvacuationRouter router;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path graph = Files.writeString(dir.resolve("ladder.graph"), RoadGraphTest.LADDER);
+        RoutingProperties properties = new RoutingProperties();
+        properties.setGraph(graph.toUri().toString());
+        AlertLifecycle lifecycle = mock(AlertLifecycle.class);
+        when(lifecycle.snapshot()).thenReturn(List.of());
+
+        router = new EvacuationRouter();
+        ReflectionTestUtils.setField(router, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(router, "lifecycle", lifecycle);
+        ReflectionTestUtils.setField(router, "repository", repository);
+        ReflectionTestUtils.setField(router, "versions", versions);
+        ReflectionTestUtils.setField(router, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "properties", properties);
+        router.start();
+    }
+
+    @Test
+    void sheltersFromAnotherInstanceReachTheRoutes() {
+        when(versions.version(ResourceCollection.SAFE_LOCATION)).thenReturn(1L);
+        when(repository.findByLatitudeIsNotNullAndLongitudeIsNotNull()).thenReturn(List.of(FAR));
+        router.onReady();
+        assertThat(router.route(0.0, 0.0).orElseThrow().safeLocationId()).isEqualTo(1L);
+
+        // Gravado por outra instância; sem versão nova, nada é relido
+        when(repository.findByLatitudeIsNotNullAndLongitudeIsNotNull()).thenReturn(List.of(FAR, NEAR));
+        router.syncShelters();
+        verify(repository, times(1)).findByLatitudeIsNotNullAndLongitudeIsNotNull();
+
+        when(versions.version(ResourceCollection.SAFE_LOCATION)).thenReturn(2L);
+        router.syncShelters();
+        assertThat(router.route(0.0, 0.0).orElseThrow().safeLocationId()).isEqualTo(2L);
+    }
+
+    @Test
+    void unchangedSheltersKeepTheVersion() {
+        when(versions.version(ResourceCollection.SAFE_LOCATION)).thenReturn(1L);
+        when(repository.findByLatitudeIsNotNullAndLongitudeIsNotNull()).thenReturn(List.of(FAR, NEAR));
+        router.onReady();
+        long version = shelterVersion();
+
+        // Outra coleção embutida mudou (ex.: um alerta), mas os locais são os mesmos
+        when(versions.version(ResourceCollection.SAFE_LOCATION)).thenReturn(2L);
+        router.syncShelters();
+
+        verify(repository, times(2)).findByLatitudeIsNotNullAndLongitudeIsNotNull();
+        assertThat(shelterVersion()).isEqualTo(version);
+    }
+
+    private long shelterVersion() {
+        return ((AtomicLong) ReflectionTestUtils.getField(router, "shelterVersion")).get();
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.fiap.Ayra.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A* com vários destinos sobre o grafo em escada do {@link RoadGraphTest}: destino
+ * mais barato, desvio das áreas de alerta e vias de mão única.
+ */
+class EvacuationSearchTest {
+
+    private static final double STEP_KM = RoadGraphTest.STEP_KM;
+
+    private RoadGraph graph;
+    // Via 2–3, marcada como o EvacuationRouter faz com um alerta de 200 m sobre ela
+    private BitSet alertOnBottomRight;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        graph = RoadGraphTest.ladder();
+        alertOnBottomRight = new BitSet(graph.edges());
+        graph.forEachEdgeWithin(0.0, 0.015, 0.2, alertOnBottomRight::set);
+    }
+
+    @Test
+    void reachesTheCheapestOfSeveralTargets() {
+        EvacuationSearch.Result result = new EvacuationSearch(graph, new BitSet(), 10, new int[] { 2, 5 }).from(0);
+
+        assertThat(result.path()).containsExactly(0, 1, 2);
+        assertThat(result.target()).isEqualTo(2);
+        assertThat(result.distanceKm()).isCloseTo(2 * STEP_KM, within(0.01));
+        assertThat(result.dangerKm()).isZero();
+    }
+
+    @Test
+    void penaltySendsTheRouteToAnotherTarget() {
+        EvacuationSearch.Result result = new EvacuationSearch(graph, alertOnBottomRight, 10, new int[] { 2, 5 }).from(0);
+
+        assertThat(result.target()).isEqualTo(5);
+        assertThat(result.distanceKm()).isCloseTo(3 * STEP_KM, within(0.01));
+        assertThat(result.dangerKm()).isZero();
+    }
+
+    @Test
+    void dangerIsReportedWhenTheDetourCostsMore() {
+        // Com penalidade 10 o desvio de 4 vias compensa; com 1,5, não
+        EvacuationSearch.Result detour = new EvacuationSearch(graph, alertOnBottomRight, 10, new int[] { 2 }).from(0);
+        EvacuationSearch.Result through = new EvacuationSearch(graph, alertOnBottomRight, 1.5, new int[] { 2 }).from(0);
+
+        assertThat(detour.distanceKm()).isCloseTo(4 * STEP_KM, within(0.01));
+        assertThat(detour.dangerKm()).isZero();
+        assertThat(through.path()).containsExactly(0, 1, 2);
+        assertThat(through.dangerKm()).isCloseTo(STEP_KM, within(0.01));
+    }
+
+    @Test
+    void onewayStreetsAndUnreachableTargets() {
+        // 5 → 2 não existe: do nó 4 ao nó 1 são três vias
+        EvacuationSearch.Result result = new EvacuationSearch(graph, new BitSet(), 10, new int[] { 1 }).from(4);
+
+        assertThat(result.distanceKm()).isCloseTo(3 * STEP_KM, within(0.01));
+        assertThat(new EvacuationSearch(graph, new BitSet(), 10, new int[] { 6 }).from(0)).isNull();
+        assertThat(new EvacuationSearch(graph, new BitSet(), 10, new int[0]).from(0)).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.fiap.Ayra.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Leitura do formato de texto para CSR, nó mais próximo e vias que cruzam um círculo.
+ */
+class RoadGraphTest {
+
+    // Duas fileiras de três nós no equador, a 0,01° (1,112 km) uma da outra, e um nó isolado
+    static final String LADDER = """
+            # fileira de baixo
+            v 1 0.00 0.00
+            v 2 0.00 0.01
+            v 3 0.00 0.02
+            # fileira de cima
+            v 4 0.01 0.00
+            v 5 0.01 0.01
+            v 6 0.01 0.02
+            v 7 0.05 0.05
+
+            e 1 2
+            e 2 3
+            e 1 4
+            e 4 5
+            e 5 6
+            e 3 6
+            e 2 5 oneway
+            """;
+
+    static final double STEP_KM = 1.112;
+
+    static RoadGraph ladder() throws IOException {
+        return RoadGraph.load(new ByteArrayInputStream(LADDER.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void loadsEdgesContiguouslyPerNode() throws IOException {
+        RoadGraph graph = ladder();
+
+        assertThat(graph.nodes()).isEqualTo(7);
+        assertThat(graph.edges()).isEqualTo(13);
+        // Nós na ordem do arquivo: o id 2 é o nó 1
+        assertThat(targets(graph, 1)).containsExactly(0, 2, 4);
+        // A via 2 → 5 é de mão única
+        assertThat(targets(graph, 4)).containsExactly(3, 5);
+        assertThat(targets(graph, 6)).isEmpty();
+        assertThat(graph.lengthKm(graph.firstEdge(0))).isCloseTo(STEP_KM, within(0.001));
+    }
+
+    @Test
+    void rejectsMalformedFiles() {
+        assertThatThrownBy(() -> RoadGraph.load(stream("v 1 0 0\ne 1 2\n")))
+                .isInstanceOf(IOException.class).hasMessageContaining("nó desconhecido na linha 2");
+        assertThatThrownBy(() -> RoadGraph.load(stream("v 1 0 0\nv 1 0 1\n")))
+                .isInstanceOf(IOException.class).hasMessageContaining("Nó repetido");
+        assertThatThrownBy(() -> RoadGraph.load(stream("v 1 zero 0\n")))
+                .isInstanceOf(IOException.class).hasMessageContaining("Número inválido");
+    }
+
+    @Test
+    void findsTheNearestNodeWithinTheSnapDistance() throws IOException {
+        RoadGraph graph = ladder();
+
+        assertThat(graph.nearest(0.001, 0.0095, 1.0)).isEqualTo(1);
+        assertThat(graph.nearest(0.0099, 0.0201, 1.0)).isEqualTo(5);
+        // A 0,03° (3,3 km) do nó mais próximo
+        assertThat(graph.nearest(0.03, 0.05, 1.0)).isEqualTo(-1);
+    }
+
+    @Test
+    void edgeCrossingACircleIsFoundEvenWithBothEndsOutside() throws IOException {
+        RoadGraph graph = ladder();
+        // A 0,002° (222 m) da via 3–6 e a mais de 600 m das pontas dela
+        double lat = 0.005;
+        double lon = 0.022;
+
+        List<Integer> nodes = new ArrayList<>();
+        graph.forEachWithin(lat, lon, 0.3, nodes::add);
+        List<int[]> edges = new ArrayList<>();
+        graph.forEachEdgeWithin(lat, lon, 0.3, edge -> edges.add(new int[] { source(graph, edge), graph.target(edge) }));
+
+        assertThat(nodes).isEmpty();
+        assertThat(edges).containsExactlyInAnyOrder(new int[] { 2, 5 }, new int[] { 5, 2 });
+    }
+
+    static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Integer> targets(RoadGraph graph, int node) {
+        return IntStream.range(graph.firstEdge(node), graph.endEdge(node)).map(graph::target).boxed().toList();
+    }
+
+    private static int source(RoadGraph graph, int edge) {
+        return IntStream.range(0, graph.nodes())
+                .filter(node -> graph.firstEdge(node) <= edge && edge < graph.endEdge(node))
+                .findFirst().orElseThrow();
+    }
+}
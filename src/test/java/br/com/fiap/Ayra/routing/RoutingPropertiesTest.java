@@ -0,0 +1,35 @@
+package br.com.fiap.Ayra.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+class RoutingPropertiesTest {
+
+    @Configuration
+    @EnableConfigurationProperties(RoutingProperties.class)
+    static class Config {}
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner().withUserConfiguration(Config.class);
+
+    @Test
+    void rejectsPenaltiesBelowOne() {
+        runner.withPropertyValues("ayra.routing.alert-penalty=0.5")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void rejectsEmptyOriginCells() {
+        runner.withPropertyValues("ayra.routing.origin-cell=0")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void acceptsTheDefaults() {
+        runner.withPropertyValues("ayra.routing.alert-penalty=1")
+                .run(context -> assertThat(context.getBean(RoutingProperties.class).getOriginCell()).isEqualTo(0.002));
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.fiap.Ayra.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Líder único por chave, espera limitada, erro repassado a quem espera e nenhuma
+ * entrada retida depois que a consulta termina.
+ */
+class SingleFlightTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        CollectionVersions versions = mock(CollectionVersions.class);
+        when(versions.version(ResourceCollection.ALERT)).thenReturn(1L);
+        singleFlight = new SingleFlight();
+        ReflectionTestUtils.setField(singleFlight, "versions", versions);
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(singleFlight, "enabled", true);
+        ReflectionTestUtils.setField(singleFlight, "maxWaitMillis", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waitersShareTheLeaderResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        List<String> result = List.of("a", "b");
+
+        Future<List<String>> leader = submit(() -> {
+            calls.incrementAndGet();
+            await(release);
+            return result;
+        });
+        awaitInFlight(1);
+        List<Future<List<String>>> waiters = List.of(
+                submit(() -> List.of("nunca")), submit(() -> List.of("nunca")), submit(() -> List.of("nunca")));
+        // Tempo para os três encontrarem a consulta em andamento antes de ela terminar
+        Thread.sleep(200);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        for (Future<List<String>> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("shared")).isEqualTo(3);
+        assertThat(inFlight()).isEmpty();
+    }
+
+    @Test
+    void waiterRunsItsOwnQueryAfterMaxWait() throws Exception {
+        ReflectionTestUtils.setField(singleFlight, "maxWaitMillis", 50L);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = submit(() -> {
+            await(release);
+            return "líder";
+        });
+        awaitInFlight(1);
+
+        assertThat(singleFlight.load(ResourceCollection.ALERT, "filtro", PAGE, () -> "sozinho")).isEqualTo("sozinho");
+        assertThat(count("timeout")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("líder");
+        assertThat(inFlight()).isEmpty();
+    }
+
+    @Test
+    void waitersReceiveTheLeaderFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("banco fora do ar");
+
+        Future<String> leader = submit(() -> {
+            await(release);
+            throw failure;
+        });
+        awaitInFlight(1);
+        Future<String> waiter = submit(() -> "nunca");
+        Thread.sleep(200);
+
+        release.countDown();
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThat(inFlight()).isEmpty();
+    }
+
+    @Test
+    void nextCallAfterCompletionRunsAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.load(ResourceCollection.ALERT, "filtro", PAGE, calls::incrementAndGet);
+        assertThat(inFlight()).isEmpty();
+        assertThatThrownBy(() -> singleFlight.load(ResourceCollection.ALERT, "filtro", PAGE, () -> {
+            throw new IllegalStateException("falhou");
+        })).hasMessage("falhou");
+        assertThat(inFlight()).isEmpty();
+        singleFlight.load(ResourceCollection.ALERT, "filtro", PAGE, calls::incrementAndGet);
+
+        // Nada fica guardado: cada chamada sequencial é uma nova consulta
+        assertThat(calls).hasValue(2);
+        assertThat(count("leader")).isEqualTo(3);
+    }
+
+    private <T> Future<T> submit(Supplier<T> loader) {
+        return executor.submit(() -> singleFlight.load(ResourceCollection.ALERT, "filtro", PAGE, loader));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, CompletableFuture<Object>> inFlight() {
+        return (Map<String, CompletableFuture<Object>>) ReflectionTestUtils.getField(singleFlight, "inFlight");
+    }
+
+    private double count(String result) {
+        var counter = meterRegistry.find("ayra.single-flight").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void awaitInFlight(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight().size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(inFlight()).hasSize(size);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}